@@ -0,0 +1,68 @@
+package kryptonbutterfly.args.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kryptonbutterfly.args.ImmutableArgsParser;
+import kryptonbutterfly.args.ParseResult;
+
+/**
+ * Throughput of {@link ImmutableArgsParser#parseAll} compared to parsing the
+ * same command lines one after another, to show the scaling with the available
+ * cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BatchThroughput
+{
+	@Param({ "10000" })
+	public int size;
+	
+	private ImmutableArgsParser	parser;
+	private List<String[]>		argsList;
+	
+	@Setup
+	public void setup()
+	{
+		parser		= ImmutableArgsParser.builder()
+			.terminateAction(status -> {
+				throw new IllegalStateException("terminated with " + status);
+			})
+			.build();
+		argsList	= new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			argsList.add(new String[] { "-u", "user" + i, "-pw", "pw-" + i, "-t", Integer.toString(i) });
+	}
+	
+	@Benchmark
+	public List<ParseResult<ProgramArgs>> parseAll()
+	{
+		return parser.parseAll(ProgramArgs::new, argsList);
+	}
+	
+	@Benchmark
+	public List<ProgramArgs> sequential()
+	{
+		final var results = new ArrayList<ProgramArgs>(argsList.size());
+		for (final var args : argsList)
+			results.add(parser.parse(ProgramArgs::new, args));
+		return results;
+	}
+}
@@ -0,0 +1,27 @@
+package kryptonbutterfly.args.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks selected by the JMH command line options with the
+ * {@link GCProfiler} enabled, so every result includes the allocation rates.
+ */
+public final class BenchmarkMain
+{
+	private BenchmarkMain()
+	{}
+	
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException
+	{
+		final var options = new OptionsBuilder()
+			.parent(new CommandLineOptions(args))
+			.addProfiler(GCProfiler.class)
+			.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,48 @@
+package kryptonbutterfly.args.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kryptonbutterfly.args.ArgsParser;
+
+/**
+ * Latency of the very first parse in a fresh JVM, like a short lived CLI tool
+ * sees it. Every fork measures a single invocation.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ColdStart
+{
+	private static final String[] ARGS = { "-u", "kryptonbutterfly", "-pw", "pw-1234", "-t", "123456789" };
+	
+	/**
+	 * {@link ArgsParser#ArgsParser()} only. The default parsers are shared, so this
+	 * includes their one time initialization.
+	 */
+	@Benchmark
+	public ArgsParser construct()
+	{
+		return new ArgsParser();
+	}
+	
+	/**
+	 * Construction, the first sanity check and the first parse.
+	 */
+	@Benchmark
+	public ProgramArgs firstParse()
+	{
+		final var parser = new ArgsParser();
+		parser.sanityCheck = true;
+		return parser.parse(ProgramArgs::new, ARGS);
+	}
+}
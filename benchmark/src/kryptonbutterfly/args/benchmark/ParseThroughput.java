@@ -0,0 +1,68 @@
+package kryptonbutterfly.args.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.ArgsPool;
+import kryptonbutterfly.args.Injection;
+
+/**
+ * Steady state throughput of {@link ArgsParser#parse} for the
+ * {@code test.valid.ProgramArgs} schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ParseThroughput
+{
+	private static final String[] ARGS = { "-u", "kryptonbutterfly", "-pw", "pw-1234", "-t", "123456789" };
+	
+	@Param({ "METHOD_HANDLE", "REFLECTION" })
+	public Injection injection;
+	
+	private ArgsParser				parser;
+	private ArgsPool<ProgramArgs>	pool;
+	
+	@Setup
+	public void setup()
+	{
+		parser					= new ArgsParser();
+		parser.terminateAction	= status -> {
+									throw new IllegalStateException("terminated with " + status);
+								};
+		parser.injection		= injection;
+		pool					= ArgsPool.of(ProgramArgs::new, 1);
+	}
+	
+	@Benchmark
+	public ProgramArgs parse()
+	{
+		return parser.parse(ProgramArgs::new, ARGS);
+	}
+	
+	/**
+	 * Reparses into the same pooled target, which is reset instead of allocated.
+	 */
+	@Benchmark
+	public ProgramArgs pooled()
+	{
+		final var args = parser.parse(pool, ARGS);
+		pool.release(args);
+		return args;
+	}
+}
@@ -0,0 +1,30 @@
+package kryptonbutterfly.args.benchmark;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+/**
+ * The schema of {@code test.valid.ProgramArgs}.
+ */
+@ArgsProperties()
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "u", info = "The users name.", isRequired = true, requires = "pw")
+	public String userName = null;
+	
+	@Argument(name = "pw", info = "The user password", requires = "u")
+	public String password = null;
+	
+	@Argument(name = "t", info = "The account creation date in unix time.")
+	public Long creationTime = null;
+	
+	@Argument(name = "d", info = "The account creation date", excludes = "t")
+	public String creationDate = null;
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program benchmarks the tiny-args-parser maven package.";
+	}
+}
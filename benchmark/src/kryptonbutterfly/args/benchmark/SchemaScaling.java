@@ -0,0 +1,71 @@
+package kryptonbutterfly.args.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.IArgs;
+import kryptonbutterfly.args.TypeParser;
+
+/**
+ * Steady state cost of {@link ArgsParser#parse} for synthetic schemas of
+ * growing size, supplying every argument of the schema, and the cost of an
+ * uncached sanity check of the same schemas. Verdicts are cached per schema, so
+ * the sanity check is measured together with the compilation of the schema by a
+ * new {@link ArgsParser} with a registered parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SchemaScaling
+{
+	private static final TypeParser<String> STRING = (d, v) -> v.next();
+	
+	@Param({ "10", "100", "1000" })
+	public int size;
+	
+	private ArgsParser		parser;
+	private Supplier<IArgs>	constructor;
+	private String[]		args;
+	
+	@Setup
+	public void setup()
+	{
+		parser					= new ArgsParser();
+		parser.terminateAction	= status -> {
+									throw new IllegalStateException("terminated with " + status);
+								};
+		constructor				= SyntheticSchemas.scaled(size);
+		args					= SyntheticSchemas.scaledArgs(size);
+	}
+	
+	@Benchmark
+	public IArgs parse()
+	{
+		return parser.parse(constructor, args);
+	}
+	
+	@Benchmark
+	public ArgsParser sanityCheck()
+	{
+		final var parser = new ArgsParser();
+		parser.addParser(String.class, STRING);
+		parser.checkSanity(constructor.get());
+		return parser;
+	}
+}
@@ -0,0 +1,137 @@
+package kryptonbutterfly.args.benchmark;
+
+import static java.lang.invoke.MethodType.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+import javax.tools.ToolProvider;
+
+import kryptonbutterfly.args.IArgs;
+
+/**
+ * Compiles {@link IArgs} implementations that are too large or too many to be
+ * written by hand at benchmark setup.
+ */
+final class SyntheticSchemas
+{
+	private static final String PACKAGE = "synthetic";
+	
+	private SyntheticSchemas()
+	{}
+	
+	/**
+	 * A schema of {@code size} String arguments {@code a0} to {@code a<size-1>}. Every
+	 * tenth argument requires its predecessor.
+	 */
+	static Supplier<IArgs> scaled(int size)
+	{
+		final var	name	= "Scaled" + size;
+		final var	fields	= new StringBuilder();
+		for (int i = 0; i < size; i++)
+		{
+			final var requires = i % 10 == 1 ? ", requires = \"a%d\"".formatted(i - 1) : "";
+			fields.append("\t@Argument(name = \"a%d\", info = \"argument %d\"%s)\n".formatted(i, i, requires))
+				.append("\tpublic String a%d = null;\n".formatted(i));
+		}
+		return compile(name, fields.toString());
+	}
+	
+	/**
+	 * @return The arguments supplying every argument of {@link #scaled(int)}.
+	 */
+	static String[] scaledArgs(int size)
+	{
+		final var args = new ArrayList<String>();
+		for (int i = 0; i < size; i++)
+		{
+			args.add("-a" + i);
+			args.add("value" + i);
+		}
+		return args.toArray(String[]::new);
+	}
+	
+	/**
+	 * A schema with the single argument {@code -v} of type {@code type}.
+	 */
+	static Supplier<IArgs> single(String type)
+	{
+		final var name = "Single_" + type.replace("[]", "Array");
+		return compile(name, "\t@Argument(name = \"v\", info = \"value\")\n\tpublic %s v;\n".formatted(type));
+	}
+	
+	private static Supplier<IArgs> compile(String name, String fields)
+	{
+		final var source = """
+			package %s;
+			
+			import kryptonbutterfly.args.ArgsProperties;
+			import kryptonbutterfly.args.Argument;
+			import kryptonbutterfly.args.IArgs;
+			
+			@ArgsProperties
+			public class %s implements IArgs
+			{
+			%s
+				@Override
+				public String programInfo()
+				{
+					return "%s";
+				}
+			}
+			""".formatted(PACKAGE, name, fields, name);
+		
+		try
+		{
+			final var	dir		= Files.createTempDirectory("tiny-args-benchmark");
+			final var	file	= dir.resolve(name + ".java");
+			Files.writeString(file, source);
+			
+			final var result = ToolProvider.getSystemJavaCompiler()
+				.run(
+					null,
+					null,
+					System.err,
+					"-classpath",
+					System.getProperty("java.class.path"),
+					"-proc:none",
+					"-d",
+					dir.toString(),
+					file.toString());
+			if (result != 0)
+				throw new IllegalStateException("Unable to compile synthetic schema %s!".formatted(name));
+			
+			final var	loader		= new URLClassLoader(
+				new URL[] { dir.toUri().toURL() },
+				SyntheticSchemas.class.getClassLoader());
+			final var	constructor	= MethodHandles.publicLookup()
+				.findConstructor(loader.loadClass(PACKAGE + "." + name), methodType(void.class))
+				.asType(methodType(IArgs.class));
+			
+			return () -> {
+				try
+				{
+					return (IArgs) constructor.invokeExact();
+				}
+				catch (Throwable t)
+				{
+					throw new IllegalStateException(t);
+				}
+			};
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package kryptonbutterfly.args.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.IArgs;
+
+/**
+ * Parses a single argument of every type with a default
+ * {@link kryptonbutterfly.args.TypeParser}. Run with {@code -prof gc} (as
+ * {@link BenchmarkMain} does) to get {@code gc.alloc.rate.norm} per type.
+ * {@code boolean} has no parser and is the baseline of the parse itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeParserAllocation
+{
+	private static final Map<String, String> VALUES = Map.ofEntries(
+		Map.entry("boolean", ""),
+		Map.entry("String", "value"),
+		Map.entry("long", "1234567890123"),
+		Map.entry("Long", "1234567890123"),
+		Map.entry("int", "1234567"),
+		Map.entry("Integer", "1234567"),
+		Map.entry("short", "12345"),
+		Map.entry("Short", "12345"),
+		Map.entry("char", "c"),
+		Map.entry("Character", "c"),
+		Map.entry("byte", "123"),
+		Map.entry("Byte", "123"),
+		Map.entry("Boolean", "true"),
+		Map.entry("double", "1234.5678"),
+		Map.entry("Double", "1234.5678"),
+		Map.entry("float", "1234.5678"),
+		Map.entry("Float", "1234.5678"),
+		Map.entry("String[]", "a;b;c;d;e;f;g;h"),
+		Map.entry("long[]", "1;2;3;4;5;6;7;8"),
+		Map.entry("int[]", "1;2;3;4;5;6;7;8"),
+		Map.entry("short[]", "1;2;3;4;5;6;7;8"),
+		Map.entry("byte[]", "1;2;3;4;5;6;7;8"),
+		Map.entry("boolean[]", "true;false;true;false;true;false;true;false"),
+		Map.entry("double[]", "1.5;2.5;3.5;4.5;5.5;6.5;7.5;8.5"),
+		Map.entry("float[]", "1.5;2.5;3.5;4.5;5.5;6.5;7.5;8.5"));
+	
+	@Param({
+		"boolean",
+		"String",
+		"long",
+		"Long",
+		"int",
+		"Integer",
+		"short",
+		"Short",
+		"char",
+		"Character",
+		"byte",
+		"Byte",
+		"Boolean",
+		"double",
+		"Double",
+		"float",
+		"Float",
+		"String[]",
+		"long[]",
+		"int[]",
+		"short[]",
+		"byte[]",
+		"boolean[]",
+		"double[]",
+		"float[]" })
+	public String type;
+	
+	private ArgsParser		parser;
+	private Supplier<IArgs>	constructor;
+	private String[]		args;
+	
+	@Setup
+	public void setup()
+	{
+		parser					= new ArgsParser();
+		parser.terminateAction	= status -> {
+									throw new IllegalStateException("terminated with " + status);
+								};
+		constructor				= SyntheticSchemas.single(type);
+		args					= type.equals("boolean")
+			? new String[] { "-v" }
+			: new String[] { "-v", VALUES.get(type) };
+	}
+	
+	@Benchmark
+	public IArgs parse()
+	{
+		return parser.parse(constructor, args);
+	}
+}
@@ -0,0 +1,194 @@
+package kryptonbutterfly.args.maven;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.IArgs;
+import kryptonbutterfly.args.ImmutableArgsParser;
+import kryptonbutterfly.args.internal.MissingParserException;
+import kryptonbutterfly.args.internal.SanityException;
+
+/**
+ * Runs the sanity check of {@link ArgsParser#sanityCheck} on every
+ * {@link IArgs} implementation among the compiled classes of the project and
+ * fails the build if any of them has issues. With this in place the sanity
+ * check can stay disabled at runtime. The classes are checked without being
+ * initialized or constructed, so the default values of their fields, which
+ * only an instance knows, are left to the sanity check at runtime.
+ * 
+ * <pre>
+ * &lt;plugin&gt;
+ *   &lt;groupId&gt;kryptonbutterfly&lt;/groupId&gt;
+ *   &lt;artifactId&gt;tiny-args-maven-plugin&lt;/artifactId&gt;
+ *   &lt;version&gt;3.0.0&lt;/version&gt;
+ *   &lt;executions&gt;
+ *     &lt;execution&gt;
+ *       &lt;goals&gt;&lt;goal&gt;verify&lt;/goal&gt;&lt;/goals&gt;
+ *     &lt;/execution&gt;
+ *   &lt;/executions&gt;
+ *   &lt;configuration&gt;
+ *     &lt;registry&gt;com.example.Main#parser&lt;/registry&gt;
+ *   &lt;/configuration&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ */
+@Mojo(
+	name = "verify",
+	defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+	requiresDependencyResolution = ResolutionScope.COMPILE,
+	threadSafe = true)
+public final class VerifyMojo extends AbstractMojo
+{
+	@Parameter(defaultValue = "${project}", readonly = true, required = true)
+	private MavenProject project;
+	
+	/**
+	 * A static method without parameters, written as {@code Class#method}, that
+	 * returns the {@link ArgsParser} or {@link ImmutableArgsParser} used at
+	 * runtime. Its parser registry is checked against. If it is omitted a new
+	 * {@link ArgsParser} with the default parsers is used.
+	 */
+	@Parameter(property = "tinyArgs.registry")
+	private String registry;
+	
+	/**
+	 * The fully qualified names of further types a parser is registered for at
+	 * runtime. Arguments of these types, arrays and lazy values of them count as
+	 * parseable.
+	 */
+	@Parameter
+	private List<String> parsers = new ArrayList<>();
+	
+	@Parameter(property = "tinyArgs.skip", defaultValue = "false")
+	private boolean skip;
+	
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException
+	{
+		if (skip)
+		{
+			getLog().info("Skipping the verification of the IArgs implementations.");
+			return;
+		}
+		
+		final var classes = Path.of(project.getBuild().getOutputDirectory());
+		if (!Files.isDirectory(classes))
+			return;
+		
+		try (final var loader = new URLClassLoader(classpath(), getClass().getClassLoader()))
+		{
+			final var	checker		= checker(loader);
+			final var	issues		= new ArrayList<String>();
+			var			verified	= 0;
+			for (final var name : classNames(classes))
+			{
+				final var type = Class.forName(name, false, loader);
+				if (!isImplementation(type))
+					continue;
+				
+				try
+				{
+					checker.accept(type.asSubclass(IArgs.class));
+				}
+				catch (MissingParserException | SanityException e)
+				{
+					issues.add("%s:\n%s".formatted(name, e.getMessage().strip()));
+				}
+				verified++;
+			}
+			
+			getLog().info("Verified %d IArgs implementation(s).".formatted(verified));
+			if (!issues.isEmpty())
+				throw new MojoFailureException(String.join("\n\n", issues));
+		}
+		catch (IOException | ReflectiveOperationException | DependencyResolutionRequiredException e)
+		{
+			throw new MojoExecutionException("Unable to verify the IArgs implementations!", e);
+		}
+	}
+	
+	private URL[] classpath() throws DependencyResolutionRequiredException, MalformedURLException
+	{
+		final var	elements	= project.getCompileClasspathElements();
+		final var	urls		= new URL[elements.size()];
+		for (int i = 0; i < urls.length; i++)
+			urls[i] = Path.of(elements.get(i)).toUri().toURL();
+		return urls;
+	}
+	
+	private Consumer<Class<? extends IArgs>> checker(ClassLoader loader)
+		throws ReflectiveOperationException, MojoExecutionException
+	{
+		final var	parser		= registry == null ? new ArgsParser() : registry(loader);
+		final var	declared	= Set.copyOf(parsers);
+		if (parser instanceof ImmutableArgsParser immutable)
+			return type -> immutable.checkSanity(type, declared);
+		
+		final var mutable = (ArgsParser) parser;
+		return type -> mutable.checkSanity(type, declared);
+	}
+	
+	private Object registry(ClassLoader loader) throws ReflectiveOperationException, MojoExecutionException
+	{
+		final var separator = registry.indexOf('#');
+		if (separator < 0)
+			throw new MojoExecutionException("<registry> has to be of the form Class#method, but was " + registry);
+		
+		final var	method	= Class.forName(registry.substring(0, separator), true, loader)
+			.getDeclaredMethod(registry.substring(separator + 1));
+		method.setAccessible(true);
+		final var	parser	= method.invoke(null);
+		if (!(parser instanceof ArgsParser) && !(parser instanceof ImmutableArgsParser))
+			throw new MojoExecutionException(
+				"%s returned %s instead of an ArgsParser or ImmutableArgsParser!".formatted(registry, parser));
+		return parser;
+	}
+	
+	/**
+	 * @return Whether {@code type} is a concrete {@link IArgs} implementation,
+	 *         which includes records.
+	 */
+	private static boolean isImplementation(Class<?> type)
+	{
+		return IArgs.class.isAssignableFrom(type)
+			&& !type.isInterface()
+			&& !Modifier.isAbstract(type.getModifiers())
+			&& !type.isAnonymousClass()
+			&& !type.isLocalClass();
+	}
+	
+	private static List<String> classNames(Path classes) throws IOException
+	{
+		try (final var files = Files.walk(classes))
+		{
+			return files
+				.filter(file -> file.toString().endsWith(".class"))
+				.map(file -> classes.relativize(file).toString())
+				.filter(file -> !file.endsWith("module-info.class") && !file.endsWith("package-info.class"))
+				.map(file -> file.substring(0, file.length() - ".class".length()))
+				.map(file -> file.replace(classes.getFileSystem().getSeparator(), "."))
+				.sorted()
+				.toList();
+		}
+	}
+}
@@ -0,0 +1,243 @@
+package kryptonbutterfly.args.processor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.Flag;
+import kryptonbutterfly.args.GeneratedParser;
+import kryptonbutterfly.args.IArgs;
+import kryptonbutterfly.args.Lazy;
+
+/**
+ * Generates a {@link GeneratedParser} for every {@link IArgs} implementation in
+ * the compilation. Implementations that can't be written to directly from
+ * within their package (private members, type variables, checked exceptions,
+ * {@link Lazy} values, {@link Flag}s, ...) are skipped with a note and keep being parsed via
+ * reflection.
+ */
+@SupportedAnnotationTypes({ "kryptonbutterfly.args.Argument", "kryptonbutterfly.args.ArgsProperties" })
+public final class ArgsProcessor extends AbstractProcessor
+{
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+	
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round)
+	{
+		final var targets = new LinkedHashSet<TypeElement>();
+		for (final var element : round.getElementsAnnotatedWith(Argument.class))
+			if (element.getEnclosingElement() instanceof TypeElement type)
+				targets.add(type);
+		
+		for (final var element : round.getElementsAnnotatedWith(ArgsProperties.class))
+			if (element.getKind() == ElementKind.CLASS)
+				targets.add((TypeElement) element);
+		
+		for (final var type : targets)
+			process(type);
+		
+		return false;
+	}
+	
+	private void process(TypeElement type)
+	{
+		final var issue = unsupported(type);
+		if (issue != null)
+		{
+			note(type, "No parser generated for %s: %s", type.getQualifiedName(), issue);
+			return;
+		}
+		
+		final var arguments = new ArrayList<ParserSource.Arg>();
+		for (final var element : type.getEnclosedElements())
+			if (element.getKind() == ElementKind.FIELD && element.getAnnotation(Argument.class) != null)
+				arguments.add(field(element));
+		
+		for (final var element : type.getEnclosedElements())
+			if (element.getKind() == ElementKind.METHOD && element.getAnnotation(Argument.class) != null)
+				arguments.add(method((ExecutableElement) element));
+		
+		final var props = type.getAnnotation(ArgsProperties.class) != null
+			? type.getAnnotation(ArgsProperties.class)
+			: IArgs.class.getAnnotation(ArgsProperties.class);
+		
+		final var	elements	= processingEnv.getElementUtils();
+		final var	pkg			= elements.getPackageOf(type).getQualifiedName().toString();
+		final var	binaryName	= elements.getBinaryName(type).toString();
+		final var	simpleName	= (pkg.isEmpty() ? binaryName : binaryName.substring(pkg.length() + 1))
+			.replace('$', '_') + GeneratedParser.SUFFIX;
+		
+		final var source = new ParserSource(
+			pkg,
+			simpleName,
+			type.getQualifiedName().toString(),
+			props,
+			arguments).source();
+		
+		try (final var writer = processingEnv.getFiler()
+			.createSourceFile(pkg.isEmpty() ? simpleName : pkg + "." + simpleName, type)
+			.openWriter())
+		{
+			writer.write(source);
+		}
+		catch (IOException e)
+		{
+			processingEnv.getMessager().printMessage(Kind.ERROR, e.toString(), type);
+		}
+	}
+	
+	/**
+	 * @return A description why no parser can be generated for {@code type} or
+	 *         null if there is none.
+	 */
+	private String unsupported(TypeElement type)
+	{
+		if (type.getKind() == ElementKind.RECORD)
+			return "a record";
+		if (type.getKind() != ElementKind.CLASS)
+			return "not a class";
+		if (type.getModifiers().contains(Modifier.ABSTRACT))
+			return "abstract";
+		if (!type.getTypeParameters().isEmpty())
+			return "generic";
+		if (!processingEnv.getTypeUtils().isAssignable(
+			type.asType(),
+			processingEnv.getElementUtils().getTypeElement(IArgs.class.getName()).asType()))
+			return "doesn't implement " + IArgs.class.getSimpleName();
+		
+		for (Element enclosing = type; enclosing instanceof TypeElement t; enclosing = t.getEnclosingElement())
+		{
+			if (t.getModifiers().contains(Modifier.PRIVATE))
+				return "private";
+			if (t.getNestingKind() != NestingKind.TOP_LEVEL && t.getNestingKind() != NestingKind.MEMBER)
+				return "local or anonymous";
+		}
+		
+		for (final var element : type.getEnclosedElements())
+		{
+			if (element.getAnnotationsByType(Flag.class).length > 0)
+				return "%s holds flags".formatted(element.getSimpleName());
+			if (element.getAnnotation(Argument.class) == null)
+				continue;
+			if (element.getModifiers().contains(Modifier.PRIVATE))
+				return "%s is private".formatted(element.getSimpleName());
+			if (element.getKind() == ElementKind.FIELD)
+			{
+				if (element.getModifiers().contains(Modifier.FINAL))
+					return "%s is final".formatted(element.getSimpleName());
+				if (isLazy(element.asType()))
+					return "%s is lazy".formatted(element.getSimpleName());
+				if (!isSupported(element.asType()))
+					return "%s has an unsupported type".formatted(element.getSimpleName());
+			}
+			else
+			{
+				final var method = (ExecutableElement) element;
+				if (!method.getThrownTypes().isEmpty())
+					return "%s declares exceptions".formatted(method.getSimpleName());
+				if (!method.getTypeParameters().isEmpty())
+					return "%s is generic".formatted(method.getSimpleName());
+				for (final var param : method.getParameters())
+					if (isLazy(param.asType()))
+						return "%s has a lazy parameter".formatted(method.getSimpleName());
+					else if (!isSupported(param.asType()))
+						return "%s has an unsupported parameter type".formatted(method.getSimpleName());
+			}
+		}
+		return null;
+	}
+	
+	private static boolean isSupported(TypeMirror type)
+	{
+		return switch (type.getKind())
+		{
+			case TYPEVAR, WILDCARD, INTERSECTION, UNION, ERROR -> false;
+			case ARRAY -> isSupported(((ArrayType) type).getComponentType());
+			default -> true;
+		};
+	}
+	
+	/**
+	 * The value type of {@link Lazy} and {@link Supplier} is erased in the
+	 * {@link GeneratedParser#types()}, so they can only be resolved via
+	 * reflection.
+	 */
+	private boolean isLazy(TypeMirror type)
+	{
+		final var erasure = erasure(type);
+		return erasure.equals(Lazy.class.getName()) || erasure.equals(Supplier.class.getName());
+	}
+	
+	private ParserSource.Arg field(Element field)
+	{
+		final var	argument	= field.getAnnotation(Argument.class);
+		final var	type		= field.asType();
+		final var	receiver	= receiver(field);
+		if (type.getKind() == TypeKind.BOOLEAN)
+			return new ParserSource.Arg(argument, List.of(), receiver + field.getSimpleName() + " = true");
+		
+		final var value = ParserSource.value(type.toString(), 0);
+		return new ParserSource.Arg(
+			argument,
+			List.of(erasure(type)),
+			receiver + field.getSimpleName() + " = " + value);
+	}
+	
+	private ParserSource.Arg method(ExecutableElement method)
+	{
+		final var	argument	= method.getAnnotation(Argument.class);
+		final var	types		= new ArrayList<String>();
+		final var	values		= new ArrayList<String>();
+		for (final var param : method.getParameters())
+		{
+			final var type = param.asType();
+			values.add(ParserSource.value(type.toString(), types.size()));
+			types.add(erasure(type));
+		}
+		return new ParserSource.Arg(
+			argument,
+			types,
+			receiver(method) + method.getSimpleName() + "(" + String.join(", ", values) + ")");
+	}
+	
+	private static String receiver(Element member)
+	{
+		if (member.getModifiers().contains(Modifier.STATIC))
+			return ((TypeElement) member.getEnclosingElement()).getQualifiedName() + ".";
+		return "target.";
+	}
+	
+	private String erasure(TypeMirror type)
+	{
+		return processingEnv.getTypeUtils().erasure(type).toString();
+	}
+	
+	private void note(Element element, String message, Object... args)
+	{
+		processingEnv.getMessager().printMessage(Kind.NOTE, message.formatted(args), element);
+	}
+}
@@ -0,0 +1,335 @@
+package kryptonbutterfly.args.processor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.GeneratedParser;
+
+/**
+ * The source code of a single {@link GeneratedParser}.
+ */
+final class ParserSource
+{
+	/**
+	 * @param argument
+	 *            The annotation of the member.
+	 * @param types
+	 *            The erased types of the consumed values as they appear in source
+	 *            code.
+	 * @param injection
+	 *            The statement writing the values into {@code target}.
+	 */
+	static record Arg(Argument argument, List<String> types, String injection)
+	{}
+	
+	private final String					pkg;
+	private final String					simpleName;
+	private final String					target;
+	private final ArgsProperties			props;
+	private final List<Arg>					args;
+	private final HashMap<String, Integer>	ordinals	= new HashMap<>();
+	
+	private final StringBuilder sb = new StringBuilder();
+	
+	ParserSource(String pkg, String simpleName, String target, ArgsProperties props, List<Arg> args)
+	{
+		this.pkg		= pkg;
+		this.simpleName	= simpleName;
+		this.target		= target;
+		this.props		= props;
+		this.args		= args;
+		
+		for (int i = 0; i < args.size(); i++)
+			ordinals.putIfAbsent(args.get(i).argument().name(), i);
+	}
+	
+	/**
+	 * @return The expression parsing the value of type {@code type} with the
+	 *         parser {@code parsers[index]}. Primitive parsers of primitive types
+	 *         are invoked without boxing.
+	 */
+	static String value(String type, int index)
+	{
+		final var	boxed		= "(%s) parsers[%d].parse(arrayDelimiter, iterator)".formatted(type, index);
+		final var	primitive	= switch (type)
+		{
+			case "int" -> "Int";
+			case "long" -> "Long";
+			case "float" -> "Float";
+			case "double" -> "Double";
+			default -> null;
+		};
+		if (primitive == null)
+			return boxed;
+		return ("(parsers[%1$d] instanceof kryptonbutterfly.args.%2$sTypeParser p%1$d"
+			+ " ? p%1$d.parse%2$s(arrayDelimiter, iterator) : %3$s)").formatted(index, primitive, boxed);
+	}
+	
+	/**
+	 * @return The source code of the generated parser.
+	 */
+	String source()
+	{
+		sb.setLength(0);
+		if (!pkg.isEmpty())
+			line(0, "package %s;", pkg).line(0, "");
+		
+		line(0, "import java.util.Iterator;")
+			.line(0, "")
+			.line(0, "import kryptonbutterfly.args.Diagnostic;")
+			.line(0, "import kryptonbutterfly.args.GeneratedParser;")
+			.line(0, "import kryptonbutterfly.args.TypeParser;")
+			.line(0, "")
+			.line(0, "/**")
+			.line(0, " * Generated by the tiny-args-processor from {@link %s}. Do not edit.", target)
+			.line(0, " */")
+			.line(0, "public final class %s implements GeneratedParser<%s>", simpleName, target)
+			.line(0, "{");
+		
+		constants();
+		properties();
+		ordinal();
+		inject();
+		validate();
+		
+		line(0, "}");
+		return sb.toString();
+	}
+	
+	private void constants()
+	{
+		line(1, "private static final String[] NAMES = { %s };", join(args, a -> literal(a.argument().name())));
+		line(1, "");
+		line(1, "private static final String[] INFOS = { %s };", join(args, a -> literal(a.argument().info())));
+		line(1, "");
+		line(1, "private static final String[][] REQUIRES = { %s };", join(args, a -> array(a.argument().requires())));
+		line(1, "");
+		line(1, "private static final String[][] EXCLUDES = { %s };", join(args, a -> array(a.argument().excludes())));
+		line(1, "");
+		line(1, "private static final boolean[] IS_REQUIRED = { %s };", join(args, a -> "" + a.argument().isRequired()));
+		line(1, "");
+		line(
+			1,
+			"private static final Class<?>[][] TYPES = { %s };",
+			join(args, a -> braces(a.types().stream().map(t -> t + ".class").toList())));
+		line(1, "");
+		line(1, "private static final String HELP = %s;", literal(help()));
+		line(1, "");
+	}
+	
+	private void properties()
+	{
+		getter("String", "idPrefix", literal(props.idPrefix()));
+		getter("String[]", "helpIDs", array(props.helpIDs()));
+		getter("boolean", "terminateAfterHelp", "" + props.terminateAfterHelp());
+		getter("boolean", "abbreviations", "" + props.abbreviations());
+		getter("boolean", "clusteredFlags", "" + props.clusteredFlags());
+		getter("String[]", "names", "NAMES");
+		getter("String[]", "infos", "INFOS");
+		getter("String[][]", "requires", "REQUIRES");
+		getter("String[][]", "excludes", "EXCLUDES");
+		getter("boolean[]", "isRequired", "IS_REQUIRED");
+		getter("Class<?>[][]", "types", "TYPES");
+		getter("String", "help", "HELP");
+	}
+	
+	private void getter(String type, String name, String value)
+	{
+		if (type.endsWith("[]") && !value.matches("[A-Z_]+"))
+			value = "new %s %s".formatted(type, value);
+		line(1, "@Override")
+			.line(1, "public %s %s()", type, name)
+			.line(1, "{")
+			.line(2, "return %s;", value)
+			.line(1, "}")
+			.line(1, "");
+	}
+	
+	private void ordinal()
+	{
+		line(1, "@Override")
+			.line(1, "public int ordinal(String name)")
+			.line(1, "{")
+			.line(2, "return switch (name)")
+			.line(2, "{");
+		for (int i = 0; i < args.size(); i++)
+			if (ordinals.get(args.get(i).argument().name()) == i)
+				line(3, "case %s -> %d;", literal(args.get(i).argument().name()), i);
+		line(3, "default -> -1;")
+			.line(2, "};")
+			.line(1, "}")
+			.line(1, "");
+	}
+	
+	private void inject()
+	{
+		line(1, "@Override")
+			.line(1, "@SuppressWarnings(\"unchecked\")")
+			.line(1, "public void inject(")
+			.line(2, "%s target,", target)
+			.line(2, "int ordinal,")
+			.line(2, "String arrayDelimiter,")
+			.line(2, "Iterator<String> iterator,")
+			.line(2, "TypeParser<?>[] parsers)")
+			.line(1, "{")
+			.line(2, "switch (ordinal)")
+			.line(2, "{");
+		for (int i = 0; i < args.size(); i++)
+			line(3, "case %d -> %s;", i, args.get(i).injection());
+		line(3, "default -> throw new IndexOutOfBoundsException(ordinal);")
+			.line(2, "}")
+			.line(1, "}")
+			.line(1, "");
+	}
+	
+	private void validate()
+	{
+		line(1, "@Override")
+			.line(1, "public Diagnostic validate(int[] supplied, int count, boolean[] present)")
+			.line(1, "{");
+		
+		final var cases = new ArrayList<Integer>();
+		for (int i = 0; i < args.size(); i++)
+		{
+			final var argument = args.get(i).argument();
+			if (argument.requires().length > 0 || argument.excludes().length > 0)
+				cases.add(i);
+		}
+		
+		if (!cases.isEmpty())
+		{
+			line(2, "for (int i = 0; i < count; i++)")
+				.line(3, "switch (supplied[i])")
+				.line(3, "{");
+			for (final var i : cases)
+				constraints(i);
+			line(3, "}")
+				.line(2, "");
+		}
+		
+		for (final var arg : args)
+			if (arg.argument().isRequired())
+			{
+				final var name = arg.argument().name();
+				line(2, "if (!present[%d])", ordinals.get(name))
+					.line(3, "return new Diagnostic.MissingRequired(%s, %s);", literal(props.idPrefix()), literal(name));
+			}
+		
+		line(2, "return null;")
+			.line(1, "}");
+	}
+	
+	private void constraints(int ordinal)
+	{
+		final var	argument	= args.get(ordinal).argument();
+		final var	prefix		= props.idPrefix();
+		line(4, "case %d:", ordinal);
+		for (final var required : argument.requires())
+		{
+			final var diagnostic = "new Diagnostic.MissingRequirement(%s, %s, %s)"
+				.formatted(literal(prefix), literal(argument.name()), literal(required));
+			if (!ordinals.containsKey(required))
+			{
+				// can never be satisfied, everything after it is unreachable.
+				line(5, "return %s;", diagnostic);
+				return;
+			}
+			line(5, "if (!present[%d])", ordinals.get(required))
+				.line(6, "return %s;", diagnostic);
+		}
+		for (final var excluded : argument.excludes())
+			if (ordinals.containsKey(excluded))
+				line(5, "if (present[%d])", ordinals.get(excluded))
+					.line(
+						6,
+						"return new Diagnostic.Exclusion(%s, %s, %s);",
+						literal(prefix),
+						literal(argument.name()),
+						literal(excluded));
+		line(5, "break;");
+	}
+	
+	/**
+	 * Renders the help the same way {@code ArgsSchema} does for classes without
+	 * a generated parser.
+	 */
+	private String help()
+	{
+		final var	prefix	= props.idPrefix();
+		final var	ids		= Arrays.stream(props.helpIDs())
+			.map(id -> prefix + id)
+			.reduce("%s %s"::formatted)
+			.orElse("");
+		
+		var width = ids.length();
+		for (final var arg : args)
+			width = Math.max(width, prefix.length() + arg.argument().name().length());
+		
+		final var help = new StringBuilder();
+		option(help, width, ids, props.terminateAfterHelp() ? "display this help and exit." : "display this help.");
+		help.append('\n');
+		for (final var arg : args)
+			option(help, width, prefix + arg.argument().name(), arg.argument().info());
+		return help.toString();
+	}
+	
+	private static void option(StringBuilder help, int width, String option, String info)
+	{
+		help.append(' ')
+			.append(option)
+			.append(" ".repeat(width - option.length()))
+			.append("  ")
+			.append(info)
+			.append('\n');
+	}
+	
+	private ParserSource line(int indent, String line, Object... args)
+	{
+		if (!line.isEmpty())
+			sb.append("\t".repeat(indent)).append(line.formatted(args));
+		sb.append('\n');
+		return this;
+	}
+	
+	private static String join(List<Arg> args, Function<Arg, String> mapper)
+	{
+		return String.join(", ", args.stream().map(mapper).toList());
+	}
+	
+	private static String array(String[] values)
+	{
+		return braces(Arrays.stream(values).map(ParserSource::literal).toList());
+	}
+	
+	private static String braces(List<String> values)
+	{
+		return values.isEmpty() ? "{}" : "{ " + String.join(", ", values) + " }";
+	}
+	
+	static String literal(String value)
+	{
+		final var sb = new StringBuilder("\"");
+		for (final var c : value.toCharArray())
+			switch (c)
+			{
+				case '"' -> sb.append("\\\"");
+				case '\\' -> sb.append("\\\\");
+				case '\n' -> sb.append("\\n");
+				case '\r' -> sb.append("\\r");
+				case '\t' -> sb.append("\\t");
+				default ->
+				{
+					if (c < 0x20 || c > 0x7e)
+						sb.append("\\u%04x".formatted((int) c));
+					else
+						sb.append(c);
+				}
+			}
+		return sb.append('"').toString();
+	}
+}
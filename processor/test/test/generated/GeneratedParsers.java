@@ -0,0 +1,74 @@
+package test.generated;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.internal.ArgsSchema;
+import kryptonbutterfly.args.internal.ParserResolver;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class GeneratedParsers implements Constants
+{
+	@Test
+	public void valid()
+	{
+		final String[] args = { "-u", "kryptonbutterfly", "-pw", "pw-1234", "-t", "123456789", "-v", "-r", "3", "250" };
+		
+		final var result = parser().parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals("kryptonbutterfly", result.userName);
+		assertEquals("pw-1234", result.password);
+		assertEquals(123456789L, result.creationTime);
+		assertNull(result.creationDate);
+		assertTrue(result.verbose);
+		assertEquals(3, result.retries);
+		assertEquals(250, result.timeout);
+	}
+	
+	@Test
+	public void missingRequirement()
+	{
+		final String[] args = { "-u", "kryptonbutterfly" };
+		
+		final var exception = assertThrows(TerminationException.class, () -> parser().parse(ProgramArgs::new, args));
+		assertEquals(0, exception.status, EXIT_CODE);
+	}
+	
+	@Test
+	public void exclusion()
+	{
+		final String[] args = { "-u", "kryptonbutterfly", "-pw", "pw-1234", "-t", "123456789", "-d", "March 14 2054" };
+		
+		final var exception = assertThrows(TerminationException.class, () -> parser().parse(ProgramArgs::new, args));
+		assertEquals(0, exception.status, EXIT_CODE);
+	}
+	
+	@Test
+	public void unknownArgument()
+	{
+		final String[] args = { "-i", "invalid parameter!" };
+		
+		final var exception = assertThrows(TerminationException.class, () -> parser().parse(ProgramArgs::new, args));
+		assertEquals(0, exception.status, EXIT_CODE);
+	}
+	
+	@Test
+	public void help()
+	{
+		final var reflective = ArgsSchema.compile(ProgramArgs.class, new ParserResolver(Map.of()));
+		assertEquals(reflective.help(), new ProgramArgs_ArgsParser().help());
+	}
+	
+	private static ArgsParser parser()
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		return parser;
+	}
+}
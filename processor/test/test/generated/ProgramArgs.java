@@ -0,0 +1,44 @@
+package test.generated;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+/**
+ * The parser of this class is generated by the tiny-args-processor, see
+ * {@link ProgramArgs_ArgsParser}.
+ */
+@ArgsProperties
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "u", info = "The users name.", isRequired = true, requires = "pw")
+	public String userName = null;
+	
+	@Argument(name = "pw", info = "The user password", requires = "u")
+	public String password = null;
+	
+	@Argument(name = "t", info = "The account creation date in unix time.")
+	public Long creationTime = null;
+	
+	@Argument(name = "d", info = "The account creation date", excludes = "t")
+	public String creationDate = null;
+	
+	@Argument(name = "v", info = "Verbose output.")
+	boolean verbose = false;
+	
+	int	retries	= 0;
+	int	timeout	= 0;
+	
+	@Argument(name = "r", info = "The number of retries and the timeout between them.")
+	void retry(int retries, int timeout)
+	{
+		this.retries	= retries;
+		this.timeout	= timeout;
+	}
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests generated parsers.";
+	}
+}
@@ -0,0 +1,9 @@
+package test.misc;
+
+public interface Constants
+{
+	
+	public static final String	PARSE_UNSUCCESSFUL	= "Expected successful parsing.";
+	public static final String	EXIT_CODE			= "Unexpected Exit Code!";
+	
+}
@@ -0,0 +1,188 @@
+package test.processor;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic.Kind;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import kryptonbutterfly.args.IArgs;
+import kryptonbutterfly.args.processor.ArgsProcessor;
+
+/**
+ * Runs the {@link ArgsProcessor} on sample sources and checks the parsers it
+ * generates.
+ */
+public class ProcessorOutput
+{
+	@TempDir
+	Path dir;
+	
+	@Test
+	public void generated() throws IOException
+	{
+		final var notes = compile("sample/Sample.java", """
+			package sample;
+
+			import kryptonbutterfly.args.*;
+
+			@ArgsProperties(idPrefix = "--", helpIDs = "help")
+			public class Sample implements IArgs
+			{
+				@Argument(name = "name", info = "The name.", isRequired = true)
+				public String name;
+
+				@Argument(name = "v", info = "Verbose output.", excludes = "name")
+				boolean verbose;
+
+				int retries;
+
+				@Argument(name = "r", info = "The number of retries.")
+				void retries(int retries)
+				{
+					this.retries = retries;
+				}
+
+				@Override
+				public String programInfo()
+				{
+					return "A sample.";
+				}
+			}
+			""");
+		assertEquals(List.of(), notes);
+		
+		final var source = Files.readString(dir.resolve("generated/sample/Sample_ArgsParser.java"), UTF_8);
+		assertTrue(source.startsWith("package sample;"));
+		assertTrue(source.contains("public final class Sample_ArgsParser implements GeneratedParser<sample.Sample>"));
+		assertTrue(source.contains("NAMES = { \"name\", \"v\", \"r\" }"));
+		assertTrue(source.contains("EXCLUDES = { {}, { \"name\" }, {} }"));
+		assertTrue(source.contains("IS_REQUIRED = { true, false, false }"));
+		assertTrue(source.contains("TYPES = { { java.lang.String.class }, {}, { int.class } }"));
+		assertTrue(source.contains("return \"--\";"));
+		assertTrue(source.contains("return new String[] { \"help\" };"));
+		assertTrue(Files.exists(dir.resolve("classes/sample/Sample_ArgsParser.class")));
+	}
+	
+	@Test
+	public void nested() throws IOException
+	{
+		compile("sample/Outer.java", """
+			package sample;
+
+			import kryptonbutterfly.args.*;
+
+			public class Outer
+			{
+				public static class Inner implements IArgs
+				{
+					@Argument(name = "n", info = "A number.")
+					public int number;
+
+					@Override
+					public String programInfo()
+					{
+						return "A nested sample.";
+					}
+				}
+			}
+			""");
+		
+		final var source = Files.readString(dir.resolve("generated/sample/Outer_Inner_ArgsParser.java"), UTF_8);
+		assertTrue(source.contains("implements GeneratedParser<sample.Outer.Inner>"));
+	}
+	
+	@Test
+	public void skipped() throws IOException
+	{
+		final var notes = compile("sample/Hidden.java", """
+			package sample;
+
+			import kryptonbutterfly.args.*;
+
+			public class Hidden implements IArgs
+			{
+				@Argument(name = "s", info = "A secret.")
+				private String secret;
+
+				@Override
+				public String programInfo()
+				{
+					return "A sample with a private argument.";
+				}
+
+				public static record Server(@Argument(name = "port", info = "The port.") int port) implements IArgs
+				{}
+			}
+			""");
+		
+		assertTrue(notes.contains("No parser generated for sample.Hidden: secret is private"));
+		assertTrue(notes.contains("No parser generated for sample.Hidden.Server: a record"));
+		assertFalse(Files.exists(dir.resolve("generated/sample/Hidden_ArgsParser.java")));
+		assertFalse(Files.exists(dir.resolve("generated/sample/Hidden_Server_ArgsParser.java")));
+	}
+	
+	/**
+	 * Compiles {@code source} with the {@link ArgsProcessor} into {@code dir},
+	 * the generated sources go to {@code dir/generated} and the classes to
+	 * {@code dir/classes}.
+	 * 
+	 * @return The notes of the processor.
+	 */
+	private List<String> compile(String path, String source) throws IOException
+	{
+		final var file = dir.resolve("src").resolve(path);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, source, UTF_8);
+		Files.createDirectories(dir.resolve("generated"));
+		Files.createDirectories(dir.resolve("classes"));
+		
+		final var	compiler	= ToolProvider.getSystemJavaCompiler();
+		final var	diagnostics	= new DiagnosticCollector<JavaFileObject>();
+		try (final var files = compiler.getStandardFileManager(diagnostics, Locale.ROOT, UTF_8))
+		{
+			final var task = compiler.getTask(
+				null,
+				files,
+				diagnostics,
+				List.of(
+					"-classpath", location(IArgs.class),
+					"-s", dir.resolve("generated").toString(),
+					"-d", dir.resolve("classes").toString()),
+				null,
+				files.getJavaFileObjects(file));
+			task.setProcessors(List.of(new ArgsProcessor()));
+			assertTrue(task.call(), diagnostics.getDiagnostics().toString());
+		}
+		
+		return diagnostics.getDiagnostics()
+			.stream()
+			.filter(diagnostic -> diagnostic.getKind() == Kind.NOTE)
+			.map(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+			.toList();
+	}
+	
+	private static String location(Class<?> type)
+	{
+		try
+		{
+			return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+		}
+		catch (URISyntaxException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+}
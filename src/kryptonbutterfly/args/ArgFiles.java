@@ -0,0 +1,40 @@
+package kryptonbutterfly.args;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import kryptonbutterfly.args.internal.ArgFileTokens;
+
+/**
+ * Whether and how {@code @path} arguments are expanded to the tokens of the file
+ * at {@code path}. The files are memory mapped and tokenized on demand, so they
+ * are never materialized as a whole. Tokens read from a file are not expanded
+ * again and a single {@code @} is kept as is.
+ */
+public enum ArgFiles
+{
+	/**
+	 * {@code @path} arguments are passed on unchanged.
+	 */
+	DISABLED,
+	
+	/**
+	 * Tokens are separated by whitespace. Whitespace inside single or double
+	 * quotes is part of the token and inside double quotes a backslash escapes
+	 * the following character.
+	 */
+	QUOTED,
+	
+	/**
+	 * Tokens are terminated by NUL characters, like the output of
+	 * {@code find -print0} or the content of {@code /proc/self/cmdline}.
+	 */
+	NUL;
+	
+	Iterator<String> tokens(String[] args)
+	{
+		if (this == DISABLED)
+			return Arrays.asList(args).iterator();
+		return new ArgFileTokens(args, this == NUL);
+	}
+}
@@ -1,24 +1,29 @@
 package kryptonbutterfly.args;
 
-import static kryptonbutterfly.math.utils.range.Range.*;
-
-import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.io.PrintStream;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.IntConsumer;
 import java.util.function.Supplier;
-import java.util.stream.Stream;
 
-import kryptonbutterfly.args.internal.SanityChecker;
-import kryptonbutterfly.monads.opt.Opt;
+import kryptonbutterfly.args.internal.ArgsSchema;
+import kryptonbutterfly.args.internal.ParserResolver;
 
 public final class ArgsParser
 {
-	private final HashMap<Class<?>, TypeParser<?>> typeParser = new HashMap<>();
+	/**
+	 * The schemas of all parsers without added parsers, which share the resolver
+	 * of the default parsers.
+	 */
+	private static final ClassValue<ArgsSchema> DEFAULT_SCHEMAS = schemas(ParserResolver.defaults());
+	
+	/**
+	 * The parsers added on top of the shared default parsers, null until the first
+	 * one is added.
+	 */
+	private HashMap<Class<?>, TypeParser<?>> typeParser = null;
 	
 	/**
 	 * If this is true this parser will sanity check the target before parsing and
@@ -28,8 +33,35 @@ public final class ArgsParser
 	
 	private final String arrayDelimiter;
 	
+	/**
+	 * The compiled schemas of the already parsed {@link IArgs} classes. Dropped
+	 * whenever the parser registry changes.
+	 */
+	private ClassValue<ArgsSchema> schemas = null;
+	
+	/**
+	 * The memoized parser resolution of the current parser registry. Dropped
+	 * whenever the parser registry changes.
+	 */
+	private ParserResolver parsers = null;
+	
 	public IntConsumer terminateAction = (int status) -> System.exit(status);
 	
+	/**
+	 * The mechanism used to write the parsed values into the target.
+	 */
+	public Injection injection = Injection.METHOD_HANDLE;
+	
+	/**
+	 * Whether and how {@code @path} arguments are expanded.
+	 */
+	public ArgFiles argFiles = ArgFiles.DISABLED;
+	
+	/**
+	 * The stream the help and the reasons of failed parses are written to.
+	 */
+	public PrintStream output = System.out;
+	
 	/**
 	 * initializes {@code arrayDelimiter} with {@code ;}
 	 * 
@@ -47,10 +79,28 @@ public final class ArgsParser
 	public ArgsParser(String arrayDelimiter)
 	{
 		this.arrayDelimiter = arrayDelimiter;
-		addDefaultParser();
 	}
 	
 	/**
+	 * A parser with the configuration of {@code settings}, whose schemas are
+	 * created up front so it isn't modified by any parse. It backs an
+	 * {@link ImmutableArgsParser}.
+	 */
+	ArgsParser(ParseRun.Settings settings)
+	{
+		this(settings.arrayDelimiter());
+		this.parsers			= settings.parsers();
+		this.schemas			= schemas(parsers);
+		this.sanityCheck		= settings.sanityCheck();
+		this.terminateAction	= settings.terminateAction();
+		this.injection			= settings.injection();
+		this.argFiles			= settings.argFiles();
+		this.output				= settings.output();
+	}
+	
+	/**
+	 * Replaces the default parser of {@code type} if there is one.
+	 * 
 	 * @param <T>
 	 * @param type
 	 *            The type the supplied parser is for.
@@ -58,8 +108,69 @@ public final class ArgsParser
 	 */
 	public <T> void addParser(Class<T> type, TypeParser<T> parser)
 	{
-		assert !typeParser.containsKey(type) : "A parser for type '%s' has already been added.".formatted(type);
+		assert typeParser == null || !typeParser.containsKey(type)
+			: "A parser for type '%s' has already been added.".formatted(type);
+		if (typeParser == null)
+			typeParser = new HashMap<>();
 		typeParser.put(type, parser);
+		schemas	= null;
+		parsers	= null;
+	}
+	
+	/**
+	 * @param <T>
+	 * @param type
+	 *            The type the supplied parser is for.
+	 * @param parser
+	 * @see WindowParser
+	 */
+	public <T> void addParser(Class<T> type, WindowParser<T> parser)
+	{
+		addParser(type, (TypeParser<T>) parser);
+	}
+	
+	/**
+	 * Replaces the parser of {@code int} with a parser that doesn't box its
+	 * values. The parser of {@link Integer} is left as is.
+	 * 
+	 * @see #addParser(Class, TypeParser)
+	 */
+	public void addIntParser(IntTypeParser parser)
+	{
+		addParser(int.class, (TypeParser<Integer>) parser);
+	}
+	
+	/**
+	 * Replaces the parser of {@code long} with a parser that doesn't box its
+	 * values. The parser of {@link Long} is left as is.
+	 * 
+	 * @see #addParser(Class, TypeParser)
+	 */
+	public void addLongParser(LongTypeParser parser)
+	{
+		addParser(long.class, (TypeParser<Long>) parser);
+	}
+	
+	/**
+	 * Replaces the parser of {@code float} with a parser that doesn't box its
+	 * values. The parser of {@link Float} is left as is.
+	 * 
+	 * @see #addParser(Class, TypeParser)
+	 */
+	public void addFloatParser(FloatTypeParser parser)
+	{
+		addParser(float.class, (TypeParser<Float>) parser);
+	}
+	
+	/**
+	 * Replaces the parser of {@code double} with a parser that doesn't box its
+	 * values. The parser of {@link Double} is left as is.
+	 * 
+	 * @see #addParser(Class, TypeParser)
+	 */
+	public void addDoubleParser(DoubleTypeParser parser)
+	{
+		addParser(double.class, (TypeParser<Double>) parser);
 	}
 	
 	/**
@@ -73,329 +184,209 @@ public final class ArgsParser
 	 *         if something went wrong.
 	 */
 	public <Args extends IArgs> Args parse(Supplier<Args> constructor, String[] args)
+	{
+		final var	target		= constructor.get();
+		final var	settings	= settings();
+		final var	reporter	= ParseRun.Reporter.printing(settings, () -> target.printHelp(this));
+		return new ParseRun<>(target, args, schema(target.getClass()), settings, reporter).parse();
+	}
+	
+	/**
+	 * Parses {@code args} without printing anything or calling
+	 * {@link #terminateAction}. Exceptions thrown by parsers are reported as
+	 * {@link Diagnostic.ConversionError} instead of being rethrown.
+	 * 
+	 * @param <Args>
+	 * @param constructor
+	 *            A function that generates the object to populate.
+	 * @param args
+	 *            The program arguments.
+	 * @return The populated object together with the supplied arguments and the
+	 *         reasons parsing failed, if it did.
+	 */
+	public <Args extends IArgs> ParseResult<Args> tryParse(Supplier<Args> constructor, String[] args)
 	{
 		final var target = constructor.get();
-		return new ParseRun<Args>(target, args).parse();
+		return ParseRun.collect(target, args, schema(target.getClass()), settings());
 	}
 	
-	private final class ParseRun<Args extends IArgs>
+	/**
+	 * Parses {@code args} into a record. The values are collected while parsing
+	 * and passed to the canonical constructor of {@code type} once, components
+	 * that weren't supplied get their {@link Default} value.
+	 * 
+	 * @param <Args>
+	 * @param type
+	 *            A record whose components are annotated with {@link Argument}.
+	 * @param args
+	 *            The program arguments.
+	 * @return The constructed record, or null if something went wrong.
+	 */
+	public <Args extends Record & IArgs> Args parse(Class<Args> type, String[] args)
 	{
-		private final Args				target;
-		private final String[]			args;
-		private final ArgsProperties	props;
-		
-		ParseRun(Args target, String[] args)
-		{
-			this.target	= target;
-			this.args	= args;
-			this.props	= getProperties(target);
-		}
-		
-		private final ArgsProperties getProperties(Args target)
-		{
-			return Opt.of(target.getClass().getAnnotation(ArgsProperties.class))
-				.get(() -> IArgs.class.getAnnotation(ArgsProperties.class));
-		}
-		
-		private final Args parse()
-		{
-			if (sanityCheck)
-				SanityChecker.check(ArgsParser.this.typeParser, props.idPrefix(), target);
-			
-			final var argsResult = applyArgs();
-			if (argsResult == null)
-				return null;
-			
-			final var prop = getProperties(target);
-			
-			if (prop.terminateAfterHelp())
-			{
-				if (argsResult.printHelp())
-					target.printHelp(ArgsParser.this);
-				return isValid(argsResult.args()) ? target : null;
-			}
-			else
-			{
-				if (!isValid(argsResult.args()))
-					terminateAction.accept(-1);
-				
-				if (argsResult.printHelp())
-					target.printHelp(ArgsParser.this);
-				return target;
-			}
-		}
-		
-		private final ArgsResult applyArgs()
-		{
-			final var	keys		= new ArrayList<String>();
-			final var	iterator	= Arrays.asList(args).iterator();
-			boolean		printHelp	= false;
-			while (iterator.hasNext())
-			{
-				var arg = iterator.next();
-				if (!props.idPrefix().isBlank())
-				{
-					if (!arg.startsWith(props.idPrefix()))
-					{
-						System.out.printf("Unknown argument: %s\n\n", arg);
-						target.printHelp(ArgsParser.this);
-						return null;
-					}
-					arg = arg.substring(props.idPrefix().length());
-				}
-				
-				boolean isHelpArg = false;
-				for (final var id : props.helpIDs())
-					if (id.equals(arg))
-						isHelpArg = true;
-					
-				if (isHelpArg)
-					printHelp = true;
-				else
-				{
-					boolean hasArg = injectFields(arg, iterator);
-					if (!hasArg)
-						hasArg = injectMethods(arg, iterator);
-					
-					if (!hasArg)
-					{
-						System.out.printf("Unknown argument: %s%s\n\n", props.idPrefix(), arg);
-						target.printHelp(ArgsParser.this);
-						return null;
-					}
-					keys.add(arg);
-				}
-			}
-			return new ArgsResult(keys, printHelp);
-		}
-		
-		private final boolean isValid(List<String> args)
-		{
-			if (args == null)
-				return false;
-			
-			for (final var arg : args)
-			{
-				for (final var field : target.getClass().getDeclaredFields())
-				{
-					final var argument = field.getAnnotation(Argument.class);
-					if (argument != null)
-						if (!validate(arg, args, argument))
-							return false;
-				}
-				for (final var method : target.getClass().getDeclaredMethods())
-				{
-					final var argument = method.getAnnotation(Argument.class);
-					if (argument != null)
-						if (!validate(arg, args, argument))
-							return false;
-				}
-			}
-			
-			for (final var field : target.getClass().getDeclaredFields())
-			{
-				final var argument = field.getAnnotation(Argument.class);
-				if (argument != null)
-					if (!validate(args, argument))
-						return false;
-			}
-			
-			for (final var method : target.getClass().getDeclaredMethods())
-			{
-				final var argument = method.getAnnotation(Argument.class);
-				if (argument != null)
-					if (!validate(args, argument))
-						return false;
-			}
-			return true;
-		}
-		
-		private final boolean validate(List<String> args, Argument argument)
-		{
-			final var message = "The argument \"%s%s\" is a required argument!\n\n";
-			if (argument.isRequired() && !args.contains(argument.name()))
-			{
-				System.out.printf(message, props.idPrefix(), argument.name());
-				target.printHelp(ArgsParser.this);
-				return false;
-			}
-			return true;
-		}
-		
-		private final boolean validate(String arg, List<String> args, Argument argument)
-		{
-			if (argument.name().equals(arg))
-			{
-				for (final var required : argument.requires())
-					if (!args.contains(required))
-					{
-						final var message = "The argument \"%s%s\" requires the argument \"%s%s\"!\n\n";
-						System.out.printf(message, props.idPrefix(), arg, props.idPrefix(), required);
-						target.printHelp(ArgsParser.this);
-						return false;
-					}
-				
-				for (final var excludes : argument.excludes())
-					if (args.contains(excludes))
-					{
-						final var message = "The argument \"%s%s\" and \"%s%s\" exclude each other!\n\n";
-						System.out.printf(message, props.idPrefix(), arg, props.idPrefix(), excludes);
-						target.printHelp(ArgsParser.this);
-						return false;
-					}
-			}
-			return true;
-		}
-		
-		private boolean injectFields(String arg, Iterator<String> iterator)
-		{
-			return Arrays.stream(target.getClass().getDeclaredFields())
-				.filter(field -> field.isAnnotationPresent(Argument.class))
-				.filter(field -> field.getAnnotation(Argument.class).name().equals(arg))
-				.findFirst()
-				.filter(field ->
-				{
-					field.setAccessible(true);
-					final var type = field.getType();
-					try
-					{
-						if (type == boolean.class)
-							field.set(target, true);
-						else
-							field.set(
-								target,
-								Opt.of(typeParser.get(type))
-									.map(parser -> parser.parse(arrayDelimiter, iterator))
-									.getThrows(missingParser(type)));
-						
-						return true;
-					}
-					catch (IllegalArgumentException | IllegalAccessException e)
-					{
-						e.printStackTrace();
-					}
-					return false;
-				})
-				.isPresent();
-		}
-		
-		private boolean injectMethods(String arg, Iterator<String> iterator)
-		{
-			return Arrays.stream(target.getClass().getDeclaredMethods())
-				.filter(method -> method.isAnnotationPresent(Argument.class))
-				.filter(method -> method.getAnnotation(Argument.class).name().equals(arg))
-				.findFirst()
-				.filter(method ->
-				{
-					method.setAccessible(true);
-					final var paramTypes = method.getParameterTypes();
-					final var parameter	= new Object[paramTypes.length];
-					
-					for (final var ie : range(paramTypes))
-						parameter[ie.index()] = Opt.of(typeParser.get(ie.element()))
-							.map(parser -> parser.parse(arrayDelimiter, iterator))
-							.getThrows(missingParser(ie.element()));
-					
-					try
-					{
-						method.invoke(target, parameter);
-						return true;
-					}
-					catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e)
-					{
-						e.printStackTrace();
-					}
-					return false;
-				})
-				.isPresent();
-		}
+		final var	schema		= schema(type);
+		final var	settings	= settings();
+		final var	reporter	= ParseRun.Reporter.printing(
+			settings,
+			() -> schema.printHelp(schema.programInfo, settings.output(), settings.terminateAction()));
+		return new ParseRun<Args>(null, args, schema, settings, reporter).parse();
 	}
 	
-	private final void addDefaultParser()
+	/**
+	 * Like {@link #parse(Class, String[])}, but without printing anything or
+	 * calling {@link #terminateAction}.
+	 * 
+	 * @see #tryParse(Supplier, String[])
+	 */
+	public <Args extends Record & IArgs> ParseResult<Args> tryParse(Class<Args> type, String[] args)
+	{
+		return ParseRun.collect(null, args, schema(type), settings());
+	}
+	
+	/**
+	 * Parses the tokens following the command selected by the first token of
+	 * {@code args} into the {@link IArgs} of that command. Only the {@link IArgs}
+	 * implementation of the selected command is loaded. A missing or unknown
+	 * command prints the overview of the commands and calls
+	 * {@link #terminateAction}.
+	 * 
+	 * @param commands
+	 *            The subcommands.
+	 * @param args
+	 *            The program arguments, starting with the command.
+	 * @return The populated {@link IArgs} of the selected command, or null if
+	 *         something went wrong.
+	 */
+	public IArgs parse(Subcommands commands, String[] args)
+	{
+		return commands.parse(args, output, terminateAction, (constructor, rest) -> parse(constructor, rest));
+	}
+	
+	/**
+	 * Like {@link #parse(Subcommands, String[])}, but without printing anything
+	 * or calling {@link #terminateAction}. A missing or unknown command is
+	 * reported as {@link Diagnostic.MissingCommand} or
+	 * {@link Diagnostic.UnknownCommand}, the positions of all other diagnostics
+	 * count from the token following the command.
+	 */
+	public ParseResult<IArgs> tryParse(Subcommands commands, String[] args)
 	{
-		addParser(String.class, (d, v) -> v.next());
-		addParser(long.class, (d, v) -> Long.parseLong(v.next()));
-		addParser(Long.class, (d, v) -> Long.valueOf(v.next()));
-		addParser(int.class, (d, v) -> Integer.parseInt(v.next()));
-		addParser(Integer.class, (d, v) -> Integer.valueOf(v.next()));
-		addParser(short.class, (d, v) -> Short.parseShort(v.next()));
-		addParser(Short.class, (d, v) -> Short.valueOf(v.next()));
-		addParser(char.class, (d, v) -> v.next().charAt(0));
-		addParser(Character.class, (d, v) -> Character.valueOf(v.next().charAt(0)));
-		addParser(byte.class, (d, v) -> Byte.parseByte(v.next()));
-		addParser(Byte.class, (d, v) -> Byte.valueOf(Byte.parseByte(v.next())));
-		addParser(boolean.class, (d, v) -> Boolean.parseBoolean(v.next()));
-		addParser(Boolean.class, (d, v) -> Boolean.valueOf(v.next()));
-		addParser(double.class, (d, v) -> Double.parseDouble(v.next()));
-		addParser(Double.class, (d, v) -> Double.valueOf(v.next()));
-		addParser(float.class, (d, v) -> Float.parseFloat(v.next()));
-		addParser(Float.class, (d, v) -> Float.valueOf(v.next()));
-		addParser(String[].class, (d, v) -> v.hasNext() ? v.next().split(d) : new String[0]);
-		addParser(long[].class, (d, v) -> {
-			if (!v.hasNext())
-				return new long[0];
-			return Stream.of(v.next().split(d))
-				.mapToLong(Long::parseLong)
-				.toArray();
-		});
-		addParser(int[].class, (d, v) -> {
-			if (!v.hasNext())
-				return new int[0];
-			return Stream.of(v.next().split(d))
-				.mapToInt(Integer::parseInt)
-				.toArray();
-		});
-		addParser(short[].class, (d, v) -> {
-			if (!v.hasNext())
-				return new short[0];
-			final var	split	= v.next().split(d);
-			final var	result	= new short[split.length];
-			for (final var ie : range(split))
-				result[ie.index()] = Short.parseShort(ie.element());
-			return result;
-		});
-		addParser(byte[].class, (d, v) -> {
-			if (!v.hasNext())
-				return new byte[0];
-			final var	split	= v.next().split(d);
-			final var	result	= new byte[split.length];
-			for (final var ie : range(split))
-				result[ie.index()] = Byte.parseByte(ie.element());
-			return result;
-		});
-		addParser(boolean[].class, (d, v) -> {
-			if (!v.hasNext())
-				return new boolean[0];
-			final var	split	= v.next().split(d);
-			final var	result	= new boolean[split.length];
-			for (final var ie : range(split))
-				result[ie.index()] = Boolean.parseBoolean(ie.element());
-			return result;
-		});
-		addParser(double[].class, (d, v) -> {
-			if (!v.hasNext())
-				return new double[0];
-			return Stream.of(v.next().split(d))
-				.mapToDouble(Double::parseDouble)
-				.toArray();
-		});
-		addParser(float[].class, (d, v) -> {
-			if (!v.hasNext())
-				return new float[0];
-			final var	split	= v.next().split(d);
-			final var	result	= new float[split.length];
-			for (final var ie : range(split))
-				result[ie.index()] = Float.parseFloat(ie.element());
-			return result;
-		});
+		return commands.tryParse(args, (constructor, rest) -> tryParse(constructor, rest));
 	}
 	
-	private static Supplier<NoSuchElementException> missingParser(Object target)
+	/**
+	 * Applies {@link #tryParse(Supplier, String[])} to many command lines against
+	 * the same compiled schema in parallel. The parser must not be modified while
+	 * this method runs.
+	 * 
+	 * @param <Args>
+	 * @param constructor
+	 *            A function that generates the object to populate, it is called
+	 *            concurrently.
+	 * @param argsList
+	 *            The command lines.
+	 * @return The results in the order of {@code argsList}.
+	 */
+	public <Args extends IArgs> List<ParseResult<Args>> parseAll(Supplier<Args> constructor, List<String[]> argsList)
 	{
-		return () -> new NoSuchElementException(
-			"Couldn't find a parser for %s! Please register one.".formatted(target));
+		return ParseRun.parseAll(constructor, argsList, schemas()::get, settings());
 	}
 	
-	private static final record ArgsResult(List<String> args, boolean printHelp)
-	{}
+	/**
+	 * Runs the checks of {@link #sanityCheck} on {@code target} without parsing
+	 * anything, e.g. to verify all {@link IArgs} implementations at build time.
+	 * 
+	 * @param target
+	 *            An instance of the {@link IArgs} implementation to check.
+	 * @throws kryptonbutterfly.args.internal.MissingParserException
+	 *             if there is no parser for the type of an argument.
+	 * @throws kryptonbutterfly.args.internal.SanityException
+	 *             if the arguments contradict each other.
+	 */
+	public void checkSanity(IArgs target)
+	{
+		schema(target.getClass()).sanity(target).enforce();
+	}
+	
+	/**
+	 * Runs the checks of {@link #sanityCheck} that depend only on {@code type},
+	 * without constructing it. The default values of the fields of a class aren't
+	 * checked, as they are known only to an instance.
+	 * 
+	 * @param type
+	 *            The {@link IArgs} implementation to check.
+	 * @throws kryptonbutterfly.args.internal.MissingParserException
+	 *             if there is no parser for the type of an argument.
+	 * @throws kryptonbutterfly.args.internal.SanityException
+	 *             if the arguments contradict each other.
+	 */
+	public void checkSanity(Class<? extends IArgs> type)
+	{
+		checkSanity(type, Set.of());
+	}
+	
+	/**
+	 * Like {@link #checkSanity(Class)}, but the types named in {@code declared}
+	 * count as parseable, for parsers that are registered only at runtime.
+	 * 
+	 * @param declared
+	 *            The fully qualified names of the types.
+	 */
+	public void checkSanity(Class<? extends IArgs> type, Set<String> declared)
+	{
+		schema(type).sanity(declared).enforce();
+	}
+	
+	/**
+	 * @return A snapshot of the current configuration, the parser registry is not
+	 *         copied.
+	 */
+	ParseRun.Settings settings()
+	{
+		return new ParseRun.Settings(
+			parsers(),
+			arrayDelimiter,
+			sanityCheck,
+			terminateAction,
+			injection,
+			argFiles,
+			output);
+	}
+	
+	/**
+	 * @param type
+	 *            The {@link IArgs} implementation.
+	 * @return The compiled schema of {@code type}, which is built only once per
+	 *         class and parser registry.
+	 */
+	ArgsSchema schema(Class<?> type)
+	{
+		return schemas().get(type);
+	}
+	
+	private ClassValue<ArgsSchema> schemas()
+	{
+		if (schemas == null)
+			schemas = typeParser == null ? DEFAULT_SCHEMAS : schemas(parsers());
+		return schemas;
+	}
+	
+	private static ClassValue<ArgsSchema> schemas(ParserResolver parsers)
+	{
+		return new ClassValue<>()
+		{
+			@Override
+			protected ArgsSchema computeValue(Class<?> type)
+			{
+				return ArgsSchema.create(type, parsers);
+			}
+		};
+	}
+	
+	private ParserResolver parsers()
+	{
+		if (parsers == null)
+			parsers = ParserResolver.withDefaults(typeParser == null ? Map.of() : typeParser);
+		return parsers;
+	}
 }
@@ -0,0 +1,150 @@
+package kryptonbutterfly.args;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool of {@link IArgs} objects of a single class, for reparsing at
+ * a high rate without allocating a new target per command line. The pool is
+ * passed in place of the constructor:
+ * 
+ * <pre>
+ * static final ArgsPool&lt;CommandArgs&gt; POOL = ArgsPool.of(CommandArgs::new, 64);
+ * 
+ * final var result = PARSER.tryParse(POOL, argv);
+ * ...
+ * POOL.release(result.args());
+ * </pre>
+ * 
+ * Every object handed out has all non static {@link Argument} and {@link Flag}
+ * fields reset to the values they had after construction. The defaults are
+ * captured once from the first object constructed and are restored shallowly,
+ * so default arrays or other mutable defaults must not be modified. The
+ * {@code long[]} and {@link java.util.BitSet} defaults of flag fields are
+ * shared between all pooled objects too, parsing a flag replaces them by a
+ * copy. Arguments bound to methods aren't reset.
+ * <p>
+ * The pool is safe to use from multiple threads.
+ * </p>
+ * 
+ * @param <Args>
+ *            The {@link IArgs} implementation.
+ */
+public final class ArgsPool<Args extends IArgs> implements Supplier<Args>
+{
+	private final Supplier<Args>			constructor;
+	private final Class<?>					type;
+	private final Field[]					fields;
+	private final Object[]					defaults;
+	/**
+	 * Null if the capacity is 0.
+	 */
+	private final ArrayBlockingQueue<Args>	pool;
+	
+	private ArgsPool(Supplier<Args> constructor, int capacity)
+	{
+		final var pristine = constructor.get();
+		this.constructor	= constructor;
+		this.type			= pristine.getClass();
+		this.pool			= capacity == 0 ? null : new ArrayBlockingQueue<>(capacity);
+		
+		final var fields = new ArrayList<Field>();
+		for (final var field : type.getDeclaredFields())
+		{
+			final var modifiers = field.getModifiers();
+			if (!field.isAnnotationPresent(Argument.class) && field.getAnnotationsByType(Flag.class).length == 0
+				|| Modifier.isStatic(modifiers)
+				|| Modifier.isFinal(modifiers))
+				continue;
+			field.setAccessible(true);
+			fields.add(field);
+		}
+		this.fields		= fields.toArray(Field[]::new);
+		this.defaults	= new Object[this.fields.length];
+		for (int i = 0; i < defaults.length; i++)
+			defaults[i] = read(this.fields[i], pristine);
+		
+		release(pristine);
+	}
+	
+	/**
+	 * @param constructor
+	 *            Creates the objects of the pool, it is called once right away to
+	 *            capture the default values.
+	 * @param capacity
+	 *            The maximum number of idle objects kept. With 0 nothing is kept
+	 *            and the pool only resets objects passed to {@link #reset}.
+	 * @throws IllegalArgumentException
+	 *             if {@code capacity} is negative.
+	 */
+	public static <Args extends IArgs> ArgsPool<Args> of(Supplier<Args> constructor, int capacity)
+	{
+		if (capacity < 0)
+			throw new IllegalArgumentException("The capacity must not be negative, but was %d!".formatted(capacity));
+		return new ArgsPool<>(constructor, capacity);
+	}
+	
+	/**
+	 * @return An idle object reset to the defaults or a new one if there is none.
+	 */
+	@Override
+	public Args get()
+	{
+		final var idle = pool == null ? null : pool.poll();
+		return idle == null ? constructor.get() : reset(idle);
+	}
+	
+	/**
+	 * Resets all non static {@link Argument} and {@link Flag} fields of
+	 * {@code target} to the captured defaults, e.g. to parse into a caller owned
+	 * object with {@code parser.parse(() -> pool.reset(target), argv)}.
+	 * 
+	 * @return {@code target}
+	 * @throws IllegalArgumentException
+	 *             if {@code target} isn't of the class of this pool.
+	 */
+	public Args reset(Args target)
+	{
+		if (target.getClass() != type)
+			throw new IllegalArgumentException("Expected a %s, but got a %s!".formatted(type, target.getClass()));
+		
+		try
+		{
+			for (int i = 0; i < fields.length; i++)
+				fields[i].set(target, defaults[i]);
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new IllegalStateException(e);
+		}
+		return target;
+	}
+	
+	/**
+	 * Returns {@code target} to the pool. It is dropped if the pool is full.
+	 * {@code target} must not be used afterwards.
+	 * 
+	 * @param target
+	 *            An object obtained from this pool, null is ignored.
+	 */
+	public void release(Args target)
+	{
+		if (pool != null && target != null)
+			pool.offer(target);
+	}
+	
+	private static Object read(Field field, Object target)
+	{
+		try
+		{
+			return field.get(target);
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+}
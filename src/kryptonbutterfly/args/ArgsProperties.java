@@ -21,9 +21,31 @@ public @interface ArgsProperties
 	 */
 	public boolean terminateAfterHelp() default true;
 	
+	/**
+	 * @return A description of the program. Records print it in front of their
+	 *         help, as there is no instance to call {@link IArgs#programInfo()} on
+	 *         before a parse succeeded.
+	 */
+	public String programInfo() default "";
+	
 	/**
 	 * @return The prefix to be expected in the beginning of an argument identifier.
 	 */
 	public String idPrefix() default "-";
 	
+	/**
+	 * @return whether unambiguous prefixes of argument names and help ids are
+	 *         accepted in place of the full name, like {@code --verb} for
+	 *         {@code --verbose}.
+	 */
+	public boolean abbreviations() default false;
+	
+	/**
+	 * @return whether an unknown token made of single char names of flags, like
+	 *         {@code -abc}, supplies all of these flags. Flags are boolean
+	 *         {@link Argument} fields, {@link Argument} methods without parameters
+	 *         and {@link Flag}s.
+	 */
+	public boolean clusteredFlags() default false;
+	
 }
\ No newline at end of file
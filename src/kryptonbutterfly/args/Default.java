@@ -0,0 +1,29 @@
+package kryptonbutterfly.args;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The default value of a component of a record implementing {@link IArgs}, used
+ * if the argument isn't supplied. Like a field initializer it is evaluated anew
+ * for every parse, by the parser of the component type.
+ * 
+ * <pre>
+ * public record ServerArgs(
+ * 	&#64;Argument(name = "port", info = "The port.") &#64;Default("8080") int port,
+ * 	&#64;Argument(name = "host", info = "The host.") String host) implements IArgs
+ * </pre>
+ * 
+ * Components without a default are null, 0 or false.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.RECORD_COMPONENT)
+public @interface Default
+{
+	/**
+	 * @return The tokens the value is parsed from.
+	 */
+	String[] value();
+}
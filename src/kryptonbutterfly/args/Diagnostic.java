@@ -0,0 +1,182 @@
+package kryptonbutterfly.args;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Describes why a parse failed. Diagnostics only hold the facts, the message is
+ * formatted when {@link #message()} is called.
+ */
+public sealed interface Diagnostic
+{
+	/**
+	 * @return A human readable description of this diagnostic.
+	 */
+	public String message();
+	
+	/**
+	 * A token that isn't a known argument.
+	 * 
+	 * @param token
+	 *            The token as supplied, including the id prefix.
+	 * @param position
+	 *            The index of the token among all supplied tokens.
+	 */
+	public static record UnknownArgument(String token, int position) implements Diagnostic
+	{
+		@Override
+		public String message()
+		{
+			return "Unknown argument: %s".formatted(token);
+		}
+	}
+	
+	/**
+	 * A token that is an abbreviation of more than one argument.
+	 * 
+	 * @param token
+	 *            The token as supplied, including the id prefix.
+	 * @param position
+	 *            The index of the token among all supplied tokens.
+	 * @param candidates
+	 *            The arguments {@code token} is an abbreviation of, including the
+	 *            id prefix.
+	 */
+	public static record AmbiguousArgument(String token, int position, List<String> candidates) implements Diagnostic
+	{
+		@Override
+		public String message()
+		{
+			return "The argument \"%s\" is ambiguous, it could be %s!"
+				.formatted(token, String.join(", ", candidates));
+		}
+	}
+	
+	/**
+	 * The value(s) of an argument couldn't be converted.
+	 * 
+	 * @param token
+	 *            The argument the value(s) belong to, including the id prefix.
+	 * @param position
+	 *            The index of {@code token} among all supplied tokens.
+	 * @param cause
+	 *            The exception thrown by the parser or null if the failure was
+	 *            already reported otherwise.
+	 */
+	public static record ConversionError(String token, int position, Throwable cause) implements Diagnostic
+	{
+		@Override
+		public String message()
+		{
+			if (cause == null)
+				return "Invalid value for the argument \"%s\" at position %d!".formatted(token, position);
+			return "Invalid value for the argument \"%s\" at position %d: %s"
+				.formatted(token, position, cause.getMessage());
+		}
+	}
+	
+	/**
+	 * The file of an {@code @path} argument couldn't be read.
+	 * 
+	 * @param token
+	 *            The {@code @path} argument as supplied.
+	 * @param position
+	 *            The index the tokens of the file would have had among all
+	 *            supplied tokens.
+	 * @param cause
+	 *            The exception thrown while reading the file.
+	 */
+	public static record ArgFileError(String token, int position, IOException cause) implements Diagnostic
+	{
+		@Override
+		public String message()
+		{
+			return "Unable to read the argument file %s: %s".formatted(token.substring(1), cause.getMessage());
+		}
+	}
+	
+	/**
+	 * The record couldn't be constructed from the parsed values.
+	 * 
+	 * @param type
+	 *            The record.
+	 * @param cause
+	 *            The exception thrown by its canonical constructor or by the
+	 *            parser of a {@link Default} value.
+	 */
+	public static record ConstructionError(Class<?> type, Throwable cause) implements Diagnostic
+	{
+		@Override
+		public String message()
+		{
+			return "Unable to construct %s: %s".formatted(type.getSimpleName(), cause.getMessage());
+		}
+	}
+	
+	/**
+	 * An argument was supplied without an argument it requires.
+	 */
+	public static record MissingRequirement(String idPrefix, String argument, String required) implements Diagnostic
+	{
+		@Override
+		public String message()
+		{
+			return "The argument \"%s%s\" requires the argument \"%s%s\"!"
+				.formatted(idPrefix, argument, idPrefix, required);
+		}
+	}
+	
+	/**
+	 * Two arguments were supplied that exclude each other.
+	 */
+	public static record Exclusion(String idPrefix, String argument, String excluded) implements Diagnostic
+	{
+		@Override
+		public String message()
+		{
+			return "The argument \"%s%s\" and \"%s%s\" exclude each other!"
+				.formatted(idPrefix, argument, idPrefix, excluded);
+		}
+	}
+	
+	/**
+	 * A required argument wasn't supplied.
+	 */
+	public static record MissingRequired(String idPrefix, String argument) implements Diagnostic
+	{
+		@Override
+		public String message()
+		{
+			return "The argument \"%s%s\" is a required argument!".formatted(idPrefix, argument);
+		}
+	}
+	
+	/**
+	 * No {@link Subcommands subcommand} was supplied.
+	 */
+	public static record MissingCommand() implements Diagnostic
+	{
+		@Override
+		public String message()
+		{
+			return "No command supplied!";
+		}
+	}
+	
+	/**
+	 * The first token isn't one of the {@link Subcommands}.
+	 * 
+	 * @param token
+	 *            The supplied token.
+	 * @param commands
+	 *            The names of all subcommands.
+	 */
+	public static record UnknownCommand(String token, List<String> commands) implements Diagnostic
+	{
+		@Override
+		public String message()
+		{
+			return "Unknown command: %s".formatted(token);
+		}
+	}
+}
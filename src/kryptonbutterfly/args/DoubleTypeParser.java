@@ -0,0 +1,22 @@
+package kryptonbutterfly.args;
+
+import java.util.Iterator;
+
+/**
+ * A {@link TypeParser} for {@code double} values. Arguments of the type
+ * {@code double} are injected without boxing the parsed value.
+ */
+@FunctionalInterface
+public interface DoubleTypeParser extends TypeParser<Double>
+{
+	public double parseDouble(String arrayDelimiter, Iterator<String> iterator);
+	
+	/**
+	 * Boxes the value, for arguments of the type {@code Double} and array elements.
+	 */
+	@Override
+	public default Double parse(String arrayDelimiter, Iterator<String> iterator)
+	{
+		return parseDouble(arrayDelimiter, iterator);
+	}
+}
@@ -0,0 +1,55 @@
+package kryptonbutterfly.args;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A boolean flag stored as a single bit of a {@code long}, {@code long[]} or
+ * {@link java.util.BitSet} field, so that large sets of flags take a few words
+ * instead of a field each. Supplying the flag sets its bit. Any number of flags
+ * can share a field:
+ * 
+ * <pre>
+ * &#64;Flag(name = "v", info = "Verbose output.", bit = 0)
+ * &#64;Flag(name = "q", info = "Quiet output.", bit = 1, excludes = "v")
+ * public long features = 0;
+ * </pre>
+ * 
+ * A {@code long[]} or {@link java.util.BitSet} is replaced by a grown copy when
+ * a bit is set, the default value is never modified.
+ * 
+ * @see ArgsProperties#clusteredFlags()
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@Repeatable(Flags.class)
+public @interface Flag
+{
+	/**
+	 * @return The flag name.
+	 */
+	String name();
+	
+	/**
+	 * @return The flags description.
+	 */
+	String info();
+	
+	/**
+	 * @return The index of the bit set by this flag.
+	 */
+	int bit();
+	
+	/**
+	 * @return All the arguments that are required if this flag is being supplied.
+	 */
+	String[] requires() default {};
+	
+	/**
+	 * @return All the arguments that must not be supplied if this flag is.
+	 */
+	String[] excludes() default {};
+}
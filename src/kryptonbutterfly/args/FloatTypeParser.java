@@ -0,0 +1,22 @@
+package kryptonbutterfly.args;
+
+import java.util.Iterator;
+
+/**
+ * A {@link TypeParser} for {@code float} values. Arguments of the type
+ * {@code float} are injected without boxing the parsed value.
+ */
+@FunctionalInterface
+public interface FloatTypeParser extends TypeParser<Float>
+{
+	public float parseFloat(String arrayDelimiter, Iterator<String> iterator);
+	
+	/**
+	 * Boxes the value, for arguments of the type {@code Float} and array elements.
+	 */
+	@Override
+	public default Float parse(String arrayDelimiter, Iterator<String> iterator)
+	{
+		return parseFloat(arrayDelimiter, iterator);
+	}
+}
@@ -0,0 +1,105 @@
+package kryptonbutterfly.args;
+
+import java.util.Iterator;
+
+/**
+ * Implemented by the parsers the {@code tiny-args-processor} generates at
+ * compile time. For every {@link IArgs} implementation {@code pkg.Name} the
+ * processor emits {@code pkg.Name_ArgsParser}, which {@link ArgsParser} picks up
+ * instead of reflecting over {@code pkg.Name}.
+ * <p>
+ * All arrays are indexed by the ordinal of an argument, which is its position
+ * in declaration order, fields before methods.
+ * </p>
+ *
+ * @param <Args>
+ *            The {@link IArgs} implementation this parser is generated for.
+ */
+public interface GeneratedParser<Args extends IArgs>
+{
+	/**
+	 * The suffix appended to the flat name of the {@link IArgs} implementation to
+	 * get the name of its generated parser.
+	 */
+	public static final String SUFFIX = "_ArgsParser";
+	
+	/**
+	 * @see ArgsProperties#idPrefix()
+	 */
+	public String idPrefix();
+	
+	/**
+	 * @see ArgsProperties#helpIDs()
+	 */
+	public String[] helpIDs();
+	
+	/**
+	 * @see ArgsProperties#terminateAfterHelp()
+	 */
+	public boolean terminateAfterHelp();
+	
+	/**
+	 * @see ArgsProperties#abbreviations()
+	 */
+	public boolean abbreviations();
+	
+	/**
+	 * @see ArgsProperties#clusteredFlags()
+	 */
+	public boolean clusteredFlags();
+	
+	public String[] names();
+	
+	public String[] infos();
+	
+	public String[][] requires();
+	
+	public String[][] excludes();
+	
+	public boolean[] isRequired();
+	
+	/**
+	 * @return The types of the values each argument consumes. Empty for boolean
+	 *         flags.
+	 */
+	public Class<?>[][] types();
+	
+	/**
+	 * @param name
+	 *            The argument name without {@link #idPrefix()}.
+	 * @return The ordinal of the argument or -1 if there is none.
+	 */
+	public int ordinal(String name);
+	
+	/**
+	 * Consumes the value(s) of the argument {@code ordinal} from {@code iterator}
+	 * and writes them into {@code target}.
+	 *
+	 * @param parsers
+	 *            The parsers of {@link #types()}{@code [ordinal]}.
+	 */
+	public void inject(
+		Args target,
+		int ordinal,
+		String arrayDelimiter,
+		Iterator<String> iterator,
+		TypeParser<?>[] parsers);
+	
+	/**
+	 * @param supplied
+	 *            The ordinals of the supplied arguments in the order they were
+	 *            supplied.
+	 * @param count
+	 *            The number of valid entries in {@code supplied}.
+	 * @param present
+	 *            Whether the argument with the respective ordinal was supplied.
+	 * @return The first violated requirement, exclusion or missing required
+	 *         argument, or null if there is none.
+	 */
+	public Diagnostic validate(int[] supplied, int count, boolean[] present);
+	
+	/**
+	 * @return The help text listing all arguments, excluding the program info.
+	 */
+	public String help();
+}
@@ -1,45 +1,39 @@
 package kryptonbutterfly.args;
 
-import java.util.Arrays;
-
 import kryptonbutterfly.monads.opt.Opt;
 
 @ArgsProperties
 public interface IArgs
 {
 	/**
-	 * @return A description of the program.
+	 * @return A description of the program, by default the
+	 *         {@link ArgsProperties#programInfo()} of the class.
 	 */
-	public String programInfo();
+	public default String programInfo()
+	{
+		return Opt.of(getClass().getAnnotation(ArgsProperties.class))
+			.map(ArgsProperties::programInfo)
+			.get(() -> "");
+	}
 	
+	/**
+	 * Prints the help whenever it is requested or a parse fails, for
+	 * {@link ArgsParser} and {@link ImmutableArgsParser} alike. This is the
+	 * method to override to customize the help. Records print their help
+	 * without being constructed, with the {@link ArgsProperties#programInfo()}
+	 * of the class, so it isn't called for them.
+	 */
 	public default void printHelp(ArgsParser parser)
 	{
-		System.out.printf("%s\n\n", this.programInfo());
-		
-		final var prop = Opt.of(this.getClass().getAnnotation(ArgsProperties.class))
-			.get(() -> IArgs.class.getAnnotation(ArgsProperties.class));
-		
-		final var ids = Arrays.stream(prop.helpIDs())
-			.map(id -> prop.idPrefix() + id)
-			.reduce("%s %s"::formatted)
-			.orElse("");
-		
-		if (prop.terminateAfterHelp())
-			System.out.printf(" %-16s  display this help and exit.\n\n", ids);
-		else
-			System.out.printf(" %-16s  display this help.\n\n", ids);
-		
-		for (final var field : this.getClass().getDeclaredFields())
-			Opt.of(field.getAnnotation(Argument.class))
-				.if_(arg -> System.out.printf(" %-16s  %s\n", prop.idPrefix() + arg.name(), arg.info()));
-		
-		for (final var method : this.getClass().getDeclaredMethods())
-			Opt.of(method.getAnnotation(Argument.class))
-				.if_(arg -> System.out.printf(" %-16s  %s\n", prop.idPrefix() + arg.name(), arg.info()));
-		
-		if (prop.terminateAfterHelp())
-			parser.terminateAction.accept(0);
-		
-		System.out.println();
+		parser.schema(getClass()).printHelp(programInfo(), parser.output, parser.terminateAction);
+	}
+	
+	/**
+	 * Delegates to {@link #printHelp(ArgsParser)} with the parser backing
+	 * {@code parser}.
+	 */
+	public default void printHelp(ImmutableArgsParser parser)
+	{
+		printHelp(parser.parser);
 	}
 }
@@ -0,0 +1,263 @@
+package kryptonbutterfly.args;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+import kryptonbutterfly.args.internal.ParserResolver;
+
+/**
+ * An {@link ArgsParser} with a frozen parser registry and configuration. It
+ * holds no mutable state besides the schema cache, which is thread safe, so a
+ * single instance can be shared and used by any number of threads concurrently.
+ * It wraps a private {@link ArgsParser} that is never modified, so both parse
+ * and print the help the same way.
+ * 
+ * @see #builder()
+ */
+public final class ImmutableArgsParser
+{
+	/**
+	 * Never modified after construction, all entry points delegate to it.
+	 */
+	final ArgsParser parser;
+	
+	private ImmutableArgsParser(ArgsParser parser)
+	{
+		this.parser = parser;
+	}
+	
+	/**
+	 * initializes {@code arrayDelimiter} with {@code ;}
+	 * 
+	 * @see ImmutableArgsParser#builder(String)
+	 */
+	public static Builder builder()
+	{
+		return new Builder(";");
+	}
+	
+	/**
+	 * @param arrayDelimiter
+	 *            The delimiter to be used to separate array elements.
+	 */
+	public static Builder builder(String arrayDelimiter)
+	{
+		return new Builder(arrayDelimiter);
+	}
+	
+	/**
+	 * @see ArgsParser#parse(Supplier, String[])
+	 */
+	public <Args extends IArgs> Args parse(Supplier<Args> constructor, String[] args)
+	{
+		return parser.parse(constructor, args);
+	}
+	
+	/**
+	 * @see ArgsParser#tryParse(Supplier, String[])
+	 */
+	public <Args extends IArgs> ParseResult<Args> tryParse(Supplier<Args> constructor, String[] args)
+	{
+		return parser.tryParse(constructor, args);
+	}
+	
+	/**
+	 * @see ArgsParser#parse(Class, String[])
+	 */
+	public <Args extends Record & IArgs> Args parse(Class<Args> type, String[] args)
+	{
+		return parser.parse(type, args);
+	}
+	
+	/**
+	 * @see ArgsParser#tryParse(Class, String[])
+	 */
+	public <Args extends Record & IArgs> ParseResult<Args> tryParse(Class<Args> type, String[] args)
+	{
+		return parser.tryParse(type, args);
+	}
+	
+	/**
+	 * @see ArgsParser#parse(Subcommands, String[])
+	 */
+	public IArgs parse(Subcommands commands, String[] args)
+	{
+		return parser.parse(commands, args);
+	}
+	
+	/**
+	 * @see ArgsParser#tryParse(Subcommands, String[])
+	 */
+	public ParseResult<IArgs> tryParse(Subcommands commands, String[] args)
+	{
+		return parser.tryParse(commands, args);
+	}
+	
+	/**
+	 * @see ArgsParser#parseAll(Supplier, List)
+	 */
+	public <Args extends IArgs> List<ParseResult<Args>> parseAll(Supplier<Args> constructor, List<String[]> argsList)
+	{
+		return parser.parseAll(constructor, argsList);
+	}
+	
+	/**
+	 * @see ArgsParser#checkSanity(IArgs)
+	 */
+	public void checkSanity(IArgs target)
+	{
+		parser.checkSanity(target);
+	}
+	
+	/**
+	 * @see ArgsParser#checkSanity(Class)
+	 */
+	public void checkSanity(Class<? extends IArgs> type)
+	{
+		parser.checkSanity(type);
+	}
+	
+	/**
+	 * @see ArgsParser#checkSanity(Class, Set)
+	 */
+	public void checkSanity(Class<? extends IArgs> type, Set<String> declared)
+	{
+		parser.checkSanity(type, declared);
+	}
+	
+	/**
+	 * Collects the configuration of an {@link ImmutableArgsParser}, starting with
+	 * the same defaults as {@link ArgsParser}.
+	 */
+	public static final class Builder
+	{
+		private final ArgsParser parser;
+		
+		private Builder(String arrayDelimiter)
+		{
+			this.parser = new ArgsParser(arrayDelimiter);
+		}
+		
+		/**
+		 * @see ArgsParser#addParser(Class, TypeParser)
+		 */
+		public <T> Builder addParser(Class<T> type, TypeParser<T> parser)
+		{
+			this.parser.addParser(type, parser);
+			return this;
+		}
+		
+		/**
+		 * @see ArgsParser#addParser(Class, WindowParser)
+		 */
+		public <T> Builder addParser(Class<T> type, WindowParser<T> parser)
+		{
+			this.parser.addParser(type, parser);
+			return this;
+		}
+		
+		/**
+		 * @see ArgsParser#addIntParser(IntTypeParser)
+		 */
+		public Builder addIntParser(IntTypeParser parser)
+		{
+			this.parser.addIntParser(parser);
+			return this;
+		}
+		
+		/**
+		 * @see ArgsParser#addLongParser(LongTypeParser)
+		 */
+		public Builder addLongParser(LongTypeParser parser)
+		{
+			this.parser.addLongParser(parser);
+			return this;
+		}
+		
+		/**
+		 * @see ArgsParser#addFloatParser(FloatTypeParser)
+		 */
+		public Builder addFloatParser(FloatTypeParser parser)
+		{
+			this.parser.addFloatParser(parser);
+			return this;
+		}
+		
+		/**
+		 * @see ArgsParser#addDoubleParser(DoubleTypeParser)
+		 */
+		public Builder addDoubleParser(DoubleTypeParser parser)
+		{
+			this.parser.addDoubleParser(parser);
+			return this;
+		}
+		
+		/**
+		 * @see ArgsParser#sanityCheck
+		 */
+		public Builder sanityCheck(boolean sanityCheck)
+		{
+			parser.sanityCheck = sanityCheck;
+			return this;
+		}
+		
+		/**
+		 * @see ArgsParser#terminateAction
+		 */
+		public Builder terminateAction(IntConsumer terminateAction)
+		{
+			parser.terminateAction = terminateAction;
+			return this;
+		}
+		
+		/**
+		 * @see ArgsParser#injection
+		 */
+		public Builder injection(Injection injection)
+		{
+			parser.injection = injection;
+			return this;
+		}
+		
+		/**
+		 * @see ArgsParser#argFiles
+		 */
+		public Builder argFiles(ArgFiles argFiles)
+		{
+			parser.argFiles = argFiles;
+			return this;
+		}
+		
+		/**
+		 * @see ArgsParser#output
+		 */
+		public Builder output(PrintStream output)
+		{
+			parser.output = output;
+			return this;
+		}
+		
+		/**
+		 * @return A parser with a copy of the current configuration. Later changes
+		 *         to this builder don't affect it.
+		 */
+		public ImmutableArgsParser build()
+		{
+			final var settings = parser.settings();
+			return new ImmutableArgsParser(
+				new ArgsParser(
+					new ParseRun.Settings(
+						ParserResolver.withDefaults(Map.copyOf(settings.parsers().registry())),
+						settings.arrayDelimiter(),
+						settings.sanityCheck(),
+						settings.terminateAction(),
+						settings.injection(),
+						settings.argFiles(),
+						settings.output())));
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package kryptonbutterfly.args;
+
+/**
+ * The mechanism used to write parsed values into the {@link Argument} fields
+ * and methods of the target {@link IArgs} object. Flags, record components and
+ * classes with a {@link GeneratedParser} are always injected directly.
+ */
+public enum Injection
+{
+	/**
+	 * Uses {@link java.lang.reflect.Field#set(Object, Object)} and
+	 * {@link java.lang.reflect.Method#invoke(Object, Object...)} for every value.
+	 */
+	REFLECTION,
+	
+	/**
+	 * Links every argument with its schema to a
+	 * {@link java.lang.invoke.MethodHandle} that parses and injects its value(s)
+	 * without allocating an argument array. Primitive parsers are invoked without
+	 * boxing, all others through {@link TypeParser#parse(String, java.util.Iterator)}.
+	 * Each handle is a constant of a hidden class of its own, so the JIT can
+	 * inline the parser and the write into the parse.
+	 */
+	METHOD_HANDLE;
+}
@@ -0,0 +1,22 @@
+package kryptonbutterfly.args;
+
+import java.util.Iterator;
+
+/**
+ * A {@link TypeParser} for {@code int} values. Arguments of the type
+ * {@code int} are injected without boxing the parsed value.
+ */
+@FunctionalInterface
+public interface IntTypeParser extends TypeParser<Integer>
+{
+	public int parseInt(String arrayDelimiter, Iterator<String> iterator);
+	
+	/**
+	 * Boxes the value, for arguments of the type {@code Integer} and array elements.
+	 */
+	@Override
+	public default Integer parse(String arrayDelimiter, Iterator<String> iterator)
+	{
+		return parseInt(arrayDelimiter, iterator);
+	}
+}
@@ -0,0 +1,80 @@
+package kryptonbutterfly.args;
+
+import java.util.function.Supplier;
+
+/**
+ * A value that is computed on the first {@link #get()} and then kept.
+ * <p>
+ * Arguments of the type {@code Lazy<T>} or {@code Supplier<T>} capture their
+ * single raw token while parsing and only run the {@link TypeParser} of
+ * {@code T} on the first {@link #get()}. Failed conversions therefore surface
+ * as the exception thrown by the parser on {@link #get()} and are retried on
+ * every call, instead of failing the parse. Without a token the parser runs
+ * while parsing, so a missing value fails the parse as for eager arguments.
+ * </p>
+ * It is safe to share a {@code Lazy} between threads, the value is computed at
+ * most once.
+ */
+public final class Lazy<T> implements Supplier<T>
+{
+	/**
+	 * Null once the value is computed.
+	 */
+	private volatile Supplier<? extends T>	supplier;
+	private T								value;
+	
+	private Lazy(Supplier<? extends T> supplier, T value)
+	{
+		// the volatile write publishes the value.
+		this.value		= value;
+		this.supplier	= supplier;
+	}
+	
+	/**
+	 * @param supplier
+	 *            Computes the value, it is called at most once successfully.
+	 */
+	public static <T> Lazy<T> of(Supplier<? extends T> supplier)
+	{
+		return new Lazy<>(supplier, null);
+	}
+	
+	/**
+	 * @return A {@code Lazy} that is already computed, e.g. as default value of
+	 *         an argument.
+	 */
+	public static <T> Lazy<T> value(T value)
+	{
+		return new Lazy<>(null, value);
+	}
+	
+	@Override
+	public T get()
+	{
+		if (supplier != null)
+			synchronized (this)
+			{
+				final var supplier = this.supplier;
+				if (supplier != null)
+				{
+					value			= supplier.get();
+					this.supplier	= null;
+				}
+			}
+		return value;
+	}
+	
+	/**
+	 * @return Whether the value was already computed.
+	 */
+	public boolean isComputed()
+	{
+		return supplier == null;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return isComputed() ? "Lazy[" + value + "]" : "Lazy[?]";
+	}
+}
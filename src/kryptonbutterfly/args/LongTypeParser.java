@@ -0,0 +1,22 @@
+package kryptonbutterfly.args;
+
+import java.util.Iterator;
+
+/**
+ * A {@link TypeParser} for {@code long} values. Arguments of the type
+ * {@code long} are injected without boxing the parsed value.
+ */
+@FunctionalInterface
+public interface LongTypeParser extends TypeParser<Long>
+{
+	public long parseLong(String arrayDelimiter, Iterator<String> iterator);
+	
+	/**
+	 * Boxes the value, for arguments of the type {@code Long} and array elements.
+	 */
+	@Override
+	public default Long parse(String arrayDelimiter, Iterator<String> iterator)
+	{
+		return parseLong(arrayDelimiter, iterator);
+	}
+}
@@ -0,0 +1,34 @@
+package kryptonbutterfly.args;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The outcome of parsing a single command line with
+ * {@link ArgsParser#tryParse(java.util.function.Supplier, String[])} or
+ * {@link ArgsParser#parseAll(java.util.function.Supplier, List)}.
+ * 
+ * @param args
+ *            The object populated with all values parsed before a failure.
+ *            Records are only constructed if parsing succeeded, otherwise this
+ *            is null.
+ * @param keys
+ *            The names of the supplied arguments, without the id prefix, in the
+ *            order they were supplied.
+ * @param diagnostics
+ *            Why parsing failed, empty if it succeeded.
+ * @param helpRequested
+ *            Whether the command line contained one of the
+ *            {@link ArgsProperties#helpIDs()}.
+ */
+public record ParseResult<Args extends IArgs>(
+	Args args,
+	Set<String> keys,
+	List<Diagnostic> diagnostics,
+	boolean helpRequested)
+{
+	public boolean isSuccess()
+	{
+		return diagnostics.isEmpty();
+	}
+}
@@ -0,0 +1,516 @@
+package kryptonbutterfly.args;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import kryptonbutterfly.args.internal.ArgFileException;
+import kryptonbutterfly.args.internal.ArgsSchema;
+import kryptonbutterfly.args.internal.Binding;
+import kryptonbutterfly.args.internal.Events;
+import kryptonbutterfly.args.internal.ParserResolver;
+import kryptonbutterfly.args.internal.SanityException;
+
+/**
+ * A single parse of {@code args} into {@code target}, shared by
+ * {@link ArgsParser} and {@link ImmutableArgsParser}. It only reads the
+ * {@link Settings} it is started with and hands every outcome that isn't a
+ * successful parse to its {@link Reporter}.
+ */
+final class ParseRun<Args extends IArgs>
+{
+	/**
+	 * Null for records until they are constructed.
+	 */
+	private Args				target;
+	/**
+	 * The object the values are injected into, which is {@link #target} or the
+	 * values of the components of a record.
+	 */
+	private final Object		sink;
+	/**
+	 * The bits of the flags set so far, written to {@link #target} once all
+	 * tokens are applied. Null if the schema has no flags.
+	 */
+	private final long[][]		flags;
+	private final String[]		args;
+	private final ArgsSchema	schema;
+	private final Settings		settings;
+	private final Reporter		reporter;
+	
+	private final ArrayList<Binding>	keys			= new ArrayList<>();
+	private boolean						helpRequested	= false;
+	private Tokens						tokens			= null;
+	
+	/**
+	 * @param target
+	 *            The object to populate, null if {@code schema} is the schema of a
+	 *            record.
+	 */
+	ParseRun(Args target, String[] args, ArgsSchema schema, Settings settings, Reporter reporter)
+	{
+		this.target		= target;
+		this.sink		= schema.isRecord() ? schema.values() : target;
+		this.flags		= schema.flags();
+		this.args		= args;
+		this.schema		= schema;
+		this.settings	= settings;
+		this.reporter	= reporter;
+	}
+	
+	final Args parse()
+	{
+		final var event = new Events.Parse();
+		event.begin();
+		
+		Args result = null;
+		try
+		{
+			return result = run();
+		}
+		finally
+		{
+			event.report(
+				schema.type,
+				tokens == null ? 0 : tokens.position,
+				keys.size(),
+				result != null);
+		}
+	}
+	
+	private final Args run()
+	{
+		if (settings.sanityCheck)
+			sanityCheck();
+		
+		if (!applyArgs())
+			return null;
+		
+		if (schema.terminateAfterHelp)
+		{
+			if (helpRequested)
+				reporter.help();
+			return isValid() ? target() : null;
+		}
+		else
+		{
+			final var valid = isValid();
+			if (!valid)
+				reporter.terminate(-1);
+			
+			if (helpRequested)
+				reporter.help();
+			return valid || !schema.isRecord() ? target() : null;
+		}
+	}
+	
+	/**
+	 * @return The populated target. Records are constructed on the first call,
+	 *         if that fails it is reported and null is returned.
+	 */
+	@SuppressWarnings("unchecked")
+	private final Args target()
+	{
+		if (target != null)
+			return target;
+		try
+		{
+			return target = (Args) schema.construct((Object[]) sink, settings.arrayDelimiter);
+		}
+		catch (RuntimeException e)
+		{
+			reporter.constructionError(schema.type, e);
+			return null;
+		}
+	}
+	
+	private final void sanityCheck()
+	{
+		final var event = new Events.SanityCheck();
+		event.begin();
+		
+		final var verdict = schema.isRecord() ? schema.sanity() : schema.sanity(target);
+		event.report(schema.type, verdict.passed());
+		verdict.enforce();
+	}
+	
+	private final boolean applyArgs()
+	{
+		final var tokens = this.tokens = new Tokens(settings.argFiles.tokens(args));
+		try
+		{
+			return applyArgs(tokens);
+		}
+		catch (ArgFileException e)
+		{
+			reporter.argFileError(e.token, tokens.position, e);
+			return false;
+		}
+		finally
+		{
+			if (flags != null)
+				schema.writeFlags(sink, flags);
+		}
+	}
+	
+	private final boolean applyArgs(Tokens tokens)
+	{
+		while (tokens.hasNext())
+		{
+			final var	position	= tokens.position;
+			final var	arg			= tokens.next();
+			var			offset		= 0;
+			if (!schema.idPrefix.isBlank())
+			{
+				if (!arg.startsWith(schema.idPrefix))
+				{
+					reporter.unknownArgument(arg, position);
+					return false;
+				}
+				offset = schema.idPrefix.length();
+			}
+			
+			final var resolution = new Events.Resolution();
+			resolution.begin();
+			final var ordinal = schema.resolve(arg, offset);
+			resolution.report(arg, ordinal);
+			
+			if (ordinal == ArgsSchema.HELP)
+				helpRequested = true;
+			else if (ordinal == ArgsSchema.UNKNOWN)
+			{
+				if (!schema.isCluster(arg, offset))
+				{
+					reporter.unknownArgument(arg, position);
+					return false;
+				}
+				for (int i = offset; i < arg.length(); i++)
+					if (!inject(schema.shortFlag(arg.charAt(i)), arg, position))
+						return false;
+			}
+			else if (ordinal == ArgsSchema.AMBIGUOUS)
+			{
+				reporter.ambiguousArgument(arg, position, schema.candidates(arg, offset));
+				return false;
+			}
+			else if (!inject(schema.bindings().get(ordinal), arg, position))
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Injects the value(s) of {@code binding} supplied by the token {@code arg}
+	 * at {@code position}.
+	 * 
+	 * @return false if the injection failed.
+	 */
+	private final boolean inject(Binding binding, String arg, int position)
+	{
+		final var conversion = new Events.Conversion();
+		conversion.begin();
+		
+		final boolean injected;
+		try
+		{
+			final var target = binding.isFlag() ? flags : sink;
+			injected = binding.inject(settings.injection, target, settings.arrayDelimiter, tokens);
+		}
+		catch (SanityException e)
+		{
+			throw e;
+		}
+		catch (ArgFileException e)
+		{
+			conversion.report(binding, tokens.position - position - 1, false);
+			throw e;
+		}
+		catch (RuntimeException e)
+		{
+			conversion.report(binding, tokens.position - position - 1, false);
+			reporter.conversionError(arg, position, e);
+			return false;
+		}
+		conversion.report(binding, tokens.position - position - 1, injected);
+		if (!injected)
+		{
+			reporter.conversionError(arg, position, null);
+			return false;
+		}
+		keys.add(binding);
+		return true;
+	}
+	
+	private final boolean isValid()
+	{
+		final var event = new Events.Validation();
+		event.begin();
+		final var violation = schema.violation(keys);
+		event.report(schema.type, keys.size(), violation);
+		
+		if (violation == null)
+			return true;
+		
+		reporter.violation(violation);
+		return false;
+	}
+	
+	/**
+	 * Parses {@code args} into {@code target} without printing anything or
+	 * terminating.
+	 * 
+	 * @param target
+	 *            The object to populate, null if {@code schema} is the schema of a
+	 *            record.
+	 */
+	static <Args extends IArgs> ParseResult<Args> collect(
+		Args target,
+		String[] args,
+		ArgsSchema schema,
+		Settings settings)
+	{
+		final var	collector	= new Collector();
+		final var	run			= new ParseRun<>(target, args, schema, settings, collector);
+		final var	result		= run.parse();
+		
+		final var keys = new LinkedHashSet<String>();
+		for (final var key : run.keys)
+			keys.add(key.name);
+		return new ParseResult<>(
+			schema.isRecord() ? result : target,
+			Collections.unmodifiableSet(keys),
+			List.copyOf(collector.diagnostics),
+			run.helpRequested);
+	}
+	
+	/**
+	 * {@link #collect(IArgs, String[], ArgsSchema, Settings) Collects} every entry
+	 * of {@code argsList} on the common {@link java.util.concurrent.ForkJoinPool}.
+	 * 
+	 * @param schemas
+	 *            Resolves the schema of a target class, it has to be thread safe.
+	 */
+	static <Args extends IArgs> List<ParseResult<Args>> parseAll(
+		Supplier<Args> constructor,
+		List<String[]> argsList,
+		Function<Class<?>, ArgsSchema> schemas,
+		Settings settings)
+	{
+		@SuppressWarnings("unchecked")
+		final var results = (ParseResult<Args>[]) new ParseResult<?>[argsList.size()];
+		IntStream.range(0, results.length)
+			.parallel()
+			.forEach(i -> {
+				final var target = constructor.get();
+				results[i] = collect(target, argsList.get(i), schemas.apply(target.getClass()), settings);
+			});
+		return List.of(results);
+	}
+	
+	/**
+	 * The configuration of a parser at the time a parse starts.
+	 */
+	static final record Settings(
+		ParserResolver parsers,
+		String arrayDelimiter,
+		boolean sanityCheck,
+		IntConsumer terminateAction,
+		Injection injection,
+		ArgFiles argFiles,
+		PrintStream output)
+	{}
+	
+	/**
+	 * Receives the outcomes of a {@link ParseRun} that aren't a successful parse.
+	 */
+	static interface Reporter
+	{
+		void unknownArgument(String token, int position);
+		
+		void ambiguousArgument(String token, int position, List<String> candidates);
+		
+		/**
+		 * @param cause
+		 *            The exception thrown while parsing or injecting the value(s)
+		 *            or null if the failure was already reported.
+		 */
+		void conversionError(String token, int position, RuntimeException cause);
+		
+		/**
+		 * @param token
+		 *            The {@code @path} argument whose file couldn't be read.
+		 */
+		void argFileError(String token, int position, ArgFileException cause);
+		
+		/**
+		 * @param cause
+		 *            The exception thrown by the canonical constructor of the
+		 *            record {@code type} or while parsing a {@link Default}.
+		 */
+		void constructionError(Class<?> type, RuntimeException cause);
+		
+		void violation(Diagnostic violation);
+		
+		/**
+		 * The help was requested.
+		 */
+		void help();
+		
+		void terminate(int status);
+		
+		/**
+		 * @return A reporter printing to {@link Settings#output()} like
+		 *         {@link ArgsParser#parse(Supplier, String[])} always did.
+		 *         Exceptions thrown by parsers, while reading argument files or by
+		 *         the constructors of records are rethrown.
+		 */
+		static Reporter printing(Settings settings, Runnable printHelp)
+		{
+			return new Reporter()
+			{
+				@Override
+				public void unknownArgument(String token, int position)
+				{
+					fail(new Diagnostic.UnknownArgument(token, position));
+				}
+				
+				@Override
+				public void ambiguousArgument(String token, int position, List<String> candidates)
+				{
+					fail(new Diagnostic.AmbiguousArgument(token, position, candidates));
+				}
+				
+				@Override
+				public void conversionError(String token, int position, RuntimeException cause)
+				{
+					if (cause != null)
+						throw cause;
+					fail(new Diagnostic.ConversionError(token, position, null));
+				}
+				
+				@Override
+				public void argFileError(String token, int position, ArgFileException cause)
+				{
+					throw cause;
+				}
+				
+				@Override
+				public void constructionError(Class<?> type, RuntimeException cause)
+				{
+					throw cause;
+				}
+				
+				@Override
+				public void violation(Diagnostic violation)
+				{
+					fail(violation);
+				}
+				
+				@Override
+				public void help()
+				{
+					printHelp.run();
+				}
+				
+				@Override
+				public void terminate(int status)
+				{
+					settings.terminateAction.accept(status);
+				}
+				
+				private void fail(Diagnostic diagnostic)
+				{
+					settings.output.print(diagnostic.message() + "\n\n");
+					printHelp.run();
+				}
+			};
+		}
+	}
+	
+	/**
+	 * Keeps the diagnostics unformatted instead of printing them.
+	 */
+	private static final class Collector implements Reporter
+	{
+		private final ArrayList<Diagnostic>	diagnostics	= new ArrayList<>();
+		
+		@Override
+		public void unknownArgument(String token, int position)
+		{
+			diagnostics.add(new Diagnostic.UnknownArgument(token, position));
+		}
+		
+		@Override
+		public void ambiguousArgument(String token, int position, List<String> candidates)
+		{
+			diagnostics.add(new Diagnostic.AmbiguousArgument(token, position, candidates));
+		}
+		
+		@Override
+		public void conversionError(String token, int position, RuntimeException cause)
+		{
+			diagnostics.add(new Diagnostic.ConversionError(token, position, cause));
+		}
+		
+		@Override
+		public void argFileError(String token, int position, ArgFileException cause)
+		{
+			diagnostics.add(new Diagnostic.ArgFileError(token, position, cause.getCause()));
+		}
+		
+		@Override
+		public void constructionError(Class<?> type, RuntimeException cause)
+		{
+			diagnostics.add(new Diagnostic.ConstructionError(type, cause));
+		}
+		
+		@Override
+		public void violation(Diagnostic violation)
+		{
+			diagnostics.add(violation);
+		}
+		
+		@Override
+		public void help()
+		{}
+		
+		@Override
+		public void terminate(int status)
+		{}
+	}
+	
+	/**
+	 * Counts the tokens consumed, to report the position of failing ones.
+	 */
+	private static final class Tokens implements Iterator<String>
+	{
+		private final Iterator<String>	tokens;
+		private int						position	= 0;
+		
+		Tokens(Iterator<String> tokens)
+		{
+			this.tokens = tokens;
+		}
+		
+		@Override
+		public boolean hasNext()
+		{
+			return tokens.hasNext();
+		}
+		
+		@Override
+		public String next()
+		{
+			final var token = tokens.next();
+			position++;
+			return token;
+		}
+	}
+}
@@ -0,0 +1,236 @@
+package kryptonbutterfly.args;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * A set of subcommands, each with its own {@link IArgs} implementation. The
+ * first token selects the command, the remaining tokens are parsed into the
+ * {@link IArgs} of that command only.
+ * <p>
+ * The implementations of the other commands are never touched: Their
+ * constructors aren't called, so their classes are neither initialized nor
+ * reflected or sanity checked. Register them with a lambda like
+ * {@code () -> new CommitArgs()} rather than the method reference
+ * {@code CommitArgs::new}, which loads the class when the reference is created.
+ * </p>
+ * 
+ * <pre>
+ * static final Subcommands COMMANDS = Subcommands.builder("A version control system.")
+ * 	.command("commit", "Record changes.", () -> new CommitArgs())
+ * 	.command("push", "Update the remote.", () -> new PushArgs())
+ * 	.build();
+ * 
+ * final var args = parser.parse(COMMANDS, argv);
+ * </pre>
+ * 
+ * @see ArgsParser#parse(Subcommands, String[])
+ */
+public final class Subcommands
+{
+	private final String				programInfo;
+	private final String[]				helpIDs;
+	private final Map<String, Command>	commands;
+	
+	/**
+	 * The rendered overview of the commands, built on first use.
+	 */
+	private String help = null;
+	
+	private Subcommands(String programInfo, String[] helpIDs, Map<String, Command> commands)
+	{
+		this.programInfo	= programInfo;
+		this.helpIDs		= helpIDs;
+		this.commands		= commands;
+	}
+	
+	/**
+	 * @param programInfo
+	 *            A description of the program, printed above the commands.
+	 */
+	public static Builder builder(String programInfo)
+	{
+		return new Builder(programInfo);
+	}
+	
+	/**
+	 * @return The names of all commands in the order they were added.
+	 */
+	public List<String> names()
+	{
+		return List.copyOf(commands.keySet());
+	}
+	
+	/**
+	 * Selects the command and hands the remaining tokens to {@code parse}.
+	 * Without a known command the overview of the commands is printed and
+	 * {@code terminateAction} called.
+	 */
+	IArgs parse(
+		String[] args,
+		PrintStream output,
+		IntConsumer terminateAction,
+		Dispatch<IArgs> parse)
+	{
+		if (args.length == 0)
+			return fail(output, terminateAction, new Diagnostic.MissingCommand());
+		
+		if (isHelp(args[0]))
+		{
+			printHelp(output);
+			terminateAction.accept(0);
+			return null;
+		}
+		
+		final var command = commands.get(args[0]);
+		if (command == null)
+			return fail(output, terminateAction, new Diagnostic.UnknownCommand(args[0], names()));
+		
+		return parse.apply(command.constructor, Arrays.copyOfRange(args, 1, args.length));
+	}
+	
+	/**
+	 * Like {@link #parse(String[], PrintStream, IntConsumer, Dispatch)}, but
+	 * reports a missing or unknown command as {@link Diagnostic}.
+	 */
+	ParseResult<IArgs> tryParse(String[] args, Dispatch<ParseResult<? extends IArgs>> tryParse)
+	{
+		if (args.length == 0)
+			return new ParseResult<>(null, Set.of(), List.of(new Diagnostic.MissingCommand()), false);
+		
+		if (isHelp(args[0]))
+			return new ParseResult<>(null, Set.of(), List.of(), true);
+		
+		final var command = commands.get(args[0]);
+		if (command == null)
+			return new ParseResult<>(
+				null,
+				Set.of(),
+				List.of(new Diagnostic.UnknownCommand(args[0], names())),
+				false);
+		
+		final var result = tryParse.apply(command.constructor, Arrays.copyOfRange(args, 1, args.length));
+		return new ParseResult<>(result.args(), result.keys(), result.diagnostics(), result.helpRequested());
+	}
+	
+	private IArgs fail(PrintStream output, IntConsumer terminateAction, Diagnostic diagnostic)
+	{
+		output.print(diagnostic.message() + "\n\n");
+		printHelp(output);
+		terminateAction.accept(-1);
+		return null;
+	}
+	
+	private boolean isHelp(String token)
+	{
+		for (final var helpID : helpIDs)
+			if (helpID.equals(token))
+				return true;
+		return false;
+	}
+	
+	/**
+	 * Writes the description of the program and the list of the commands, without
+	 * loading any of them.
+	 */
+	public void printHelp(PrintStream output)
+	{
+		var help = this.help;
+		if (help == null)
+			this.help = help = renderHelp();
+		output.print(help);
+	}
+	
+	private String renderHelp()
+	{
+		final var ids = String.join(" ", helpIDs);
+		
+		var width = ids.length();
+		for (final var name : commands.keySet())
+			width = Math.max(width, name.length());
+		
+		final var help = new StringBuilder(programInfo).append("\n\n");
+		option(help, width, ids, "display this help and exit.");
+		help.append('\n');
+		for (final var command : commands.values())
+			option(help, width, command.name, command.info);
+		return help.append('\n').toString();
+	}
+	
+	private static void option(StringBuilder help, int width, String option, String info)
+	{
+		help.append(' ')
+			.append(option)
+			.append(" ".repeat(width - option.length()))
+			.append("  ")
+			.append(info)
+			.append('\n');
+	}
+	
+	/**
+	 * Parses the tokens following the command into the {@link IArgs} created by
+	 * {@code constructor}.
+	 */
+	@FunctionalInterface
+	static interface Dispatch<R>
+	{
+		R apply(Supplier<? extends IArgs> constructor, String[] args);
+	}
+	
+	private static final record Command(String name, String info, Supplier<? extends IArgs> constructor)
+	{}
+	
+	public static final class Builder
+	{
+		private final String							programInfo;
+		private final LinkedHashMap<String, Command>	commands	= new LinkedHashMap<>();
+		private String[]								helpIDs		= { "-h", "--help" };
+		
+		private Builder(String programInfo)
+		{
+			this.programInfo = programInfo;
+		}
+		
+		/**
+		 * @param name
+		 *            The token selecting the command.
+		 * @param info
+		 *            A description of the command for the overview of the
+		 *            commands.
+		 * @param constructor
+		 *            Creates the {@link IArgs} of the command. It is only called if
+		 *            the command is selected.
+		 * @throws IllegalArgumentException
+		 *             if there already is a command named {@code name}.
+		 */
+		public Builder command(String name, String info, Supplier<? extends IArgs> constructor)
+		{
+			if (commands.putIfAbsent(name, new Command(name, info, constructor)) != null)
+				throw new IllegalArgumentException("Duplicate command %s!".formatted(name));
+			return this;
+		}
+		
+		/**
+		 * @param helpIDs
+		 *            The tokens that print the overview of the commands in place of
+		 *            a command, {@code -h} and {@code --help} by default.
+		 */
+		public Builder helpIDs(String... helpIDs)
+		{
+			this.helpIDs = helpIDs.clone();
+			return this;
+		}
+		
+		public Subcommands build()
+		{
+			return new Subcommands(programInfo, helpIDs, Collections.unmodifiableMap(new LinkedHashMap<>(commands)));
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package kryptonbutterfly.args;
+
+import java.util.Iterator;
+
+/**
+ * A {@link TypeParser} for values made of exactly one token, that parses the
+ * token from a window of a {@link CharSequence} instead of a String. This way a
+ * value doesn't need to be copied out of a larger source to be parsed: the
+ * elements of arrays are passed as windows of the delimited token, whole tokens
+ * as a window spanning the token.
+ * 
+ * @param <T>
+ *            The type of the parsed value.
+ */
+@FunctionalInterface
+public interface WindowParser<T> extends TypeParser<T>
+{
+	/**
+	 * @param arrayDelimiter
+	 *            The delimiter to be used to separate array elements.
+	 * @param source
+	 *            The source containing the value.
+	 * @param offset
+	 *            The index of the first char of the value in {@code source}.
+	 * @param length
+	 *            The number of chars of the value.
+	 * @return The parsed value.
+	 */
+	public T parse(String arrayDelimiter, CharSequence source, int offset, int length);
+	
+	/**
+	 * Adapts this parser to token iterators by parsing the next token as a whole.
+	 */
+	@Override
+	public default T parse(String arrayDelimiter, Iterator<String> iterator)
+	{
+		final var token = iterator.next();
+		return parse(arrayDelimiter, token, 0, token.length());
+	}
+}
@@ -0,0 +1,23 @@
+package kryptonbutterfly.args.internal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Thrown by {@link ArgFileTokens} if the file of an {@code @path} argument can't
+ * be read.
+ */
+@SuppressWarnings("serial")
+public final class ArgFileException extends UncheckedIOException
+{
+	/**
+	 * The {@code @path} argument as supplied.
+	 */
+	public final String token;
+	
+	ArgFileException(String token, IOException cause)
+	{
+		super("Unable to read the argument file %s!".formatted(token.substring(1)), cause);
+		this.token = token;
+	}
+}
@@ -0,0 +1,168 @@
+package kryptonbutterfly.args.internal;
+
+import static java.nio.charset.StandardCharsets.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates the program arguments and expands {@code @path} arguments to the
+ * tokens of the memory mapped file at {@code path}, one token at a time.
+ * <p>
+ * The files are expected to be UTF-8 encoded. As all separators are ASCII they
+ * are found on the raw bytes and only the tokens themselves are decoded.
+ * </p>
+ */
+public final class ArgFileTokens implements Iterator<String>
+{
+	private final String[]	args;
+	private final boolean	nul;
+	
+	private int			index	= 0;
+	private ByteBuffer	file	= null;
+	private String		next	= null;
+	private byte[]		token	= new byte[64];
+	
+	/**
+	 * @param args
+	 *            The program arguments.
+	 * @param nul
+	 *            true if the files are NUL separated, false if they are whitespace
+	 *            separated and may contain quotes.
+	 */
+	public ArgFileTokens(String[] args, boolean nul)
+	{
+		this.args	= args;
+		this.nul	= nul;
+	}
+	
+	/**
+	 * @throws ArgFileException
+	 *             if a file can't be read.
+	 */
+	@Override
+	public boolean hasNext()
+	{
+		while (next == null)
+		{
+			if (file != null)
+			{
+				next = nul ? nulToken() : quotedToken();
+				if (next == null)
+					file = null;
+			}
+			else if (index < args.length)
+			{
+				final var arg = args[index++];
+				if (arg.length() > 1 && arg.charAt(0) == '@')
+					file = map(arg);
+				else
+					next = arg;
+			}
+			else
+				return false;
+		}
+		return true;
+	}
+	
+	@Override
+	public String next()
+	{
+		if (!hasNext())
+			throw new NoSuchElementException();
+		final var result = next;
+		next = null;
+		return result;
+	}
+	
+	private String nulToken()
+	{
+		if (!file.hasRemaining())
+			return null;
+		
+		var length = 0;
+		while (file.hasRemaining())
+		{
+			final var b = file.get();
+			if (b == 0)
+				break;
+			length = append(length, b);
+		}
+		return new String(token, 0, length, UTF_8);
+	}
+	
+	private String quotedToken()
+	{
+		while (file.hasRemaining() && isWhitespace(file.get(file.position())))
+			file.get();
+		if (!file.hasRemaining())
+			return null;
+		
+		var		length	= 0;
+		byte	quote	= 0;
+		while (file.hasRemaining())
+		{
+			var b = file.get();
+			if (quote == 0)
+			{
+				if (isWhitespace(b))
+					break;
+				if (b == '"' || b == '\'')
+				{
+					quote = b;
+					continue;
+				}
+			}
+			else if (b == quote)
+			{
+				quote = 0;
+				continue;
+			}
+			else if (quote == '"' && b == '\\' && file.hasRemaining())
+				b = file.get();
+			length = append(length, b);
+		}
+		return new String(token, 0, length, UTF_8);
+	}
+	
+	private int append(int length, byte b)
+	{
+		if (length == token.length)
+			token = Arrays.copyOf(token, length * 2);
+		token[length] = b;
+		return length + 1;
+	}
+	
+	private static boolean isWhitespace(byte b)
+	{
+		return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == '\f';
+	}
+	
+	private static ByteBuffer map(String arg)
+	{
+		final var path = Path.of(arg.substring(1));
+		try (final var channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			final var size = channel.size();
+			// procfs and other pseudo files report a size of 0 and can't be mapped.
+			if (size == 0)
+				return ByteBuffer.wrap(Channels.newInputStream(channel).readAllBytes());
+			// a single buffer can't map more.
+			if (size > Integer.MAX_VALUE)
+				throw new IOException("The file has %d bytes, at most %d are supported.".formatted(size, Integer.MAX_VALUE));
+			return channel.map(MapMode.READ_ONLY, 0, size);
+		}
+		catch (IOException e)
+		{
+			throw new ArgFileException(arg, e);
+		}
+	}
+}
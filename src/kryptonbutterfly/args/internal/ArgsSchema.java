@@ -0,0 +1,619 @@
+package kryptonbutterfly.args.internal;
+
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.Diagnostic;
+import kryptonbutterfly.args.Flag;
+import kryptonbutterfly.args.GeneratedParser;
+import kryptonbutterfly.args.IArgs;
+import kryptonbutterfly.monads.opt.Opt;
+
+/**
+ * The compiled form of an {@link IArgs} implementation. It is built once per
+ * class and parser registry and holds everything a parse needs, so that no
+ * reflection scan happens per token.
+ */
+public final class ArgsSchema
+{
+	/**
+	 * The result of {@link #resolve(String, int)} for unknown names.
+	 */
+	public static final int	UNKNOWN		= NameTrie.NONE;
+	/**
+	 * The result of {@link #resolve(String, int)} for help ids.
+	 */
+	public static final int	HELP		= -2;
+	/**
+	 * The result of {@link #resolve(String, int)} for ambiguous abbreviations.
+	 */
+	public static final int	AMBIGUOUS	= NameTrie.AMBIGUOUS;
+	
+	public final Class<?>	type;
+	public final String		idPrefix;
+	public final boolean	terminateAfterHelp;
+	/**
+	 * The {@link ArgsProperties#programInfo()}, printed in the help of records.
+	 */
+	public final String		programInfo;
+	
+	private final List<Binding>				bindings;
+	private final HashMap<String, Binding>	byName	= new HashMap<>();
+	private final NameTrie					names;
+	private final String[]					helpIDs;
+	private final GeneratedParser<?>		generated;
+	/**
+	 * Null unless {@link #type} is a record.
+	 */
+	private final RecordConstructor			record;
+	
+	/**
+	 * The ordinals of the switches with single ASCII char names by their name, -1
+	 * for chars that aren't one. Null if {@link ArgsProperties#clusteredFlags()} are
+	 * disabled.
+	 */
+	private final int[] shortFlags;
+	
+	/**
+	 * The fields holding {@link Flag}s, by the index of their bits in the buffer
+	 * of {@link #flags()}.
+	 */
+	private final Field[] flagFields;
+	
+	/**
+	 * Resolves the parsers of the bindings.
+	 */
+	private final ParserResolver parsers;
+	
+	/**
+	 * The rendered help, built on first use.
+	 */
+	private String help = null;
+	
+	/**
+	 * The verdict of the {@link SanityChecker}, checked on first use.
+	 */
+	private SanityChecker.Verdict sanity = null;
+	
+	/*
+	 * The constraints compiled to bit masks over the ordinals. A mask is null if
+	 * it is empty.
+	 */
+	private final int		words;
+	private final long[][]	requiresMasks;
+	private final long[][]	excludesMasks;
+	private final boolean[]	unsatisfiable;
+	private final long[]	requiredMask;
+	
+	private ArgsSchema(
+		Class<?> type,
+		String idPrefix,
+		String[] helpIDs,
+		boolean terminateAfterHelp,
+		String programInfo,
+		boolean abbreviations,
+		boolean clusteredFlags,
+		List<Binding> bindings,
+		List<Field> flagFields,
+		GeneratedParser<?> generated,
+		RecordConstructor record,
+		ParserResolver parsers)
+	{
+		this.type				= type;
+		this.idPrefix			= idPrefix;
+		this.helpIDs			= helpIDs;
+		this.terminateAfterHelp	= terminateAfterHelp;
+		this.programInfo		= programInfo;
+		this.bindings			= List.copyOf(bindings);
+		this.flagFields			= flagFields.toArray(Field[]::new);
+		this.generated			= generated;
+		this.record				= record;
+		this.parsers			= parsers;
+		
+		this.names = new NameTrie(abbreviations);
+		for (final var helpID : helpIDs)
+			names.put(helpID, HELP);
+		for (final var binding : bindings)
+		{
+			byName.putIfAbsent(binding.name, binding);
+			names.put(binding.name, binding.ordinal);
+		}
+		names.compile();
+		
+		this.shortFlags = clusteredFlags ? shortFlags(bindings) : null;
+		
+		this.words			= Bits.words(bindings.size());
+		this.requiresMasks	= new long[bindings.size()][];
+		this.excludesMasks	= new long[bindings.size()][];
+		this.unsatisfiable	= new boolean[bindings.size()];
+		this.requiredMask	= new long[words];
+		for (final var binding : bindings)
+		{
+			for (final var required : binding.requires)
+			{
+				final var other = byName.get(required);
+				if (other == null)
+					unsatisfiable[binding.ordinal] = true;
+				else
+					Bits.set(mask(requiresMasks, binding.ordinal), other.ordinal);
+			}
+			
+			for (final var excluded : binding.excludes)
+				Opt.of(byName.get(excluded))
+					.if_(other -> Bits.set(mask(excludesMasks, binding.ordinal), other.ordinal));
+			
+			if (binding.isRequired)
+				Bits.set(requiredMask, byName.get(binding.name).ordinal);
+		}
+	}
+	
+	private static int[] shortFlags(List<Binding> bindings)
+	{
+		final var shortFlags = new int[128];
+		Arrays.fill(shortFlags, -1);
+		for (final var binding : bindings)
+		{
+			if (binding.name.length() != 1 || !binding.isSwitch())
+				continue;
+			final var name = binding.name.charAt(0);
+			if (name < shortFlags.length && shortFlags[name] == -1)
+				shortFlags[name] = binding.ordinal;
+		}
+		return shortFlags;
+	}
+	
+	private long[] mask(long[][] masks, int ordinal)
+	{
+		if (masks[ordinal] == null)
+			masks[ordinal] = new long[words];
+		return masks[ordinal];
+	}
+	
+	/**
+	 * @param type
+	 *            The {@link IArgs} implementation to compile.
+	 * @param parsers
+	 *            Resolves the parser of each binding.
+	 * @return The schema of the {@link GeneratedParser} of {@code type} if there
+	 *         is one, otherwise the schema compiled by reflecting over
+	 *         {@code type}.
+	 */
+	public static ArgsSchema create(Class<?> type, ParserResolver parsers)
+	{
+		final var generated = generatedParser(type);
+		if (generated != null)
+			return of(type, generated, parsers);
+		return compile(type, parsers);
+	}
+	
+	/**
+	 * @param type
+	 *            The {@link IArgs} implementation to compile.
+	 * @param parsers
+	 *            Resolves the parser of each binding.
+	 * @return The schema of {@code type} compiled via reflection. The arguments
+	 *         of records are their components.
+	 * @throws SanityException
+	 *             if a {@link Flag} doesn't fit into its field.
+	 */
+	public static ArgsSchema compile(Class<?> type, ParserResolver parsers)
+	{
+		final var props = Opt.of(type.getAnnotation(ArgsProperties.class))
+			.get(() -> IArgs.class.getAnnotation(ArgsProperties.class));
+		
+		if (type.isRecord())
+			return compileRecord(type, props, parsers);
+		
+		final var	bindings	= new ArrayList<Binding>();
+		final var	flagFields	= new ArrayList<Field>();
+		final var	flagIssues	= new ArrayList<String>();
+		for (final var field : type.getDeclaredFields())
+		{
+			Opt.of(field.getAnnotation(Argument.class))
+				.if_(argument -> bindings.add(new FieldBinding(bindings.size(), argument, field, parsers)));
+			
+			final var flags = field.getAnnotationsByType(Flag.class);
+			if (flags.length == 0)
+				continue;
+			
+			FlagBinding.validate(props.idPrefix(), field, flags, flagIssues);
+			var highest = 0;
+			for (final var flag : flags)
+				highest = Math.max(highest, flag.bit());
+			for (final var flag : flags)
+				bindings.add(new FlagBinding(bindings.size(), flag, flagFields.size(), Bits.words(highest + 1)));
+			field.setAccessible(true);
+			flagFields.add(field);
+		}
+		
+		// these would fail while parsing, so they are rejected without a sanity check.
+		if (!flagIssues.isEmpty())
+			throw new SanityException(flagIssues);
+		
+		for (final var method : type.getDeclaredMethods())
+			Opt.of(method.getAnnotation(Argument.class))
+				.if_(argument -> bindings.add(new MethodBinding(bindings.size(), argument, method, parsers)));
+		
+		return new ArgsSchema(
+			type,
+			props.idPrefix(),
+			props.helpIDs(),
+			props.terminateAfterHelp(),
+			props.programInfo(),
+			props.abbreviations(),
+			props.clusteredFlags(),
+			bindings,
+			flagFields,
+			null,
+			null,
+			parsers);
+	}
+	
+	private static ArgsSchema compileRecord(Class<?> type, ArgsProperties props, ParserResolver parsers)
+	{
+		final var	components	= type.getRecordComponents();
+		final var	bindings	= new ArrayList<Binding>();
+		for (int i = 0; i < components.length; i++)
+		{
+			final var	component	= components[i];
+			final var	index		= i;
+			Opt.of(component.getAnnotation(Argument.class))
+				.if_(argument -> bindings.add(new RecordBinding(bindings.size(), argument, component, index, parsers)));
+		}
+		
+		return new ArgsSchema(
+			type,
+			props.idPrefix(),
+			props.helpIDs(),
+			props.terminateAfterHelp(),
+			props.programInfo(),
+			props.abbreviations(),
+			props.clusteredFlags(),
+			bindings,
+			List.of(),
+			null,
+			new RecordConstructor(type, components, parsers),
+			parsers);
+	}
+	
+	private static ArgsSchema of(
+		Class<?> type,
+		GeneratedParser<?> generated,
+		ParserResolver parsers)
+	{
+		final var bindings = new ArrayList<Binding>();
+		for (int ordinal = 0; ordinal < generated.names().length; ordinal++)
+			bindings.add(new GeneratedBinding(ordinal, generated, parsers));
+		
+		return new ArgsSchema(
+			type,
+			generated.idPrefix(),
+			generated.helpIDs(),
+			generated.terminateAfterHelp(),
+			"",
+			generated.abbreviations(),
+			generated.clusteredFlags(),
+			bindings,
+			List.of(),
+			generated,
+			null,
+			parsers);
+	}
+	
+	private static GeneratedParser<?> generatedParser(Class<?> type)
+	{
+		final var name = type.getName().replace('$', '_') + GeneratedParser.SUFFIX;
+		try
+		{
+			final var parser = Class.forName(name, true, type.getClassLoader());
+			if (!GeneratedParser.class.isAssignableFrom(parser))
+				return null;
+			return (GeneratedParser<?>) parser.getDeclaredConstructor().newInstance();
+		}
+		catch (ClassNotFoundException e)
+		{
+			return null;
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new IllegalStateException("Unable to instantiate %s!".formatted(name), e);
+		}
+	}
+	
+	/**
+	 * @param name
+	 *            The argument name without {@link ArgsProperties#idPrefix()}.
+	 * @return The binding with the specified name or null if there is none.
+	 */
+	public Binding binding(String name)
+	{
+		if (generated == null)
+			return byName.get(name);
+		
+		final var ordinal = generated.ordinal(name);
+		return ordinal < 0 ? null : bindings.get(ordinal);
+	}
+	
+	/**
+	 * Resolves the name at the end of {@code token} without copying it. If
+	 * {@link ArgsProperties#abbreviations()} are enabled, unambiguous prefixes of
+	 * names resolve like the names themselves.
+	 * 
+	 * @param token
+	 *            The supplied token.
+	 * @param offset
+	 *            The length of the {@link ArgsProperties#idPrefix()} in front of
+	 *            the name.
+	 * @return The ordinal of the binding with the name, {@link #HELP},
+	 *         {@link #AMBIGUOUS} or {@link #UNKNOWN}.
+	 */
+	public int resolve(String token, int offset)
+	{
+		return names.get(token, offset);
+	}
+	
+	/**
+	 * @see #resolve(String, int)
+	 * @return The prefixed names and help ids the name at the end of
+	 *         {@code token} is an abbreviation of.
+	 */
+	public List<String> candidates(String token, int offset)
+	{
+		return names.candidates(token, offset).stream().map(name -> idPrefix + name).toList();
+	}
+	
+	/**
+	 * @return Whether {@link #type} is a record, whose values are collected in
+	 *         {@link #values()} and passed to {@link #construct(Object[], String)}.
+	 */
+	public boolean isRecord()
+	{
+		return record != null;
+	}
+	
+	/**
+	 * @return A new array to collect the values of the components of the record
+	 *         {@link #type} in.
+	 */
+	public Object[] values()
+	{
+		return record.values();
+	}
+	
+	/**
+	 * Calls the canonical constructor of the record {@link #type} with
+	 * {@code values}, filling in the defaults of the components that weren't
+	 * supplied.
+	 * 
+	 * @param values
+	 *            An array returned by {@link #values()}.
+	 */
+	public Object construct(Object[] values, String arrayDelimiter)
+	{
+		return record.construct(values, arrayDelimiter);
+	}
+	
+	/**
+	 * @param token
+	 *            A token that doesn't {@link #resolve(String, int) resolve}.
+	 * @param offset
+	 *            The length of the {@link ArgsProperties#idPrefix()} in front of
+	 *            the names.
+	 * @return Whether {@code token} is a cluster of at least two flags with single
+	 *         ASCII char names, like {@code -abc}.
+	 * @see ArgsProperties#clusteredFlags()
+	 */
+	public boolean isCluster(String token, int offset)
+	{
+		if (shortFlags == null || token.length() - offset < 2)
+			return false;
+		
+		for (int i = offset; i < token.length(); i++)
+		{
+			final var name = token.charAt(i);
+			if (name >= shortFlags.length || shortFlags[name] == -1)
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * @return The flag named {@code name} of a cluster.
+	 * @see #isCluster(String, int)
+	 */
+	public Binding shortFlag(char name)
+	{
+		return bindings.get(shortFlags[name]);
+	}
+	
+	/**
+	 * @return A buffer for the bits of the {@link Binding#isFlag() flags} set by
+	 *         a single parse, or null if there are no flags.
+	 * @see #writeFlags(Object, long[][])
+	 */
+	public long[][] flags()
+	{
+		return flagFields.length == 0 ? null : new long[flagFields.length][];
+	}
+	
+	/**
+	 * Sets the bits collected in {@code flags} in the fields of {@code target},
+	 * writing every field with a set bit once.
+	 */
+	public void writeFlags(Object target, long[][] flags)
+	{
+		for (int i = 0; i < flags.length; i++)
+			if (flags[i] != null)
+				FlagBinding.write(flagFields[i], target, flags[i]);
+	}
+	
+	/**
+	 * @return All bindings in declaration order, fields before methods. The
+	 *         {@link Flag}s of a field follow its {@link Argument}.
+	 */
+	public List<Binding> bindings()
+	{
+		return bindings;
+	}
+	
+	/**
+	 * Runs the {@link SanityChecker} on {@link #type} once and returns the same
+	 * verdict for every later call. It depends only on the class and the parser
+	 * registry, so it is dropped together with the schema once the registry
+	 * changes.
+	 */
+	public SanityChecker.Verdict sanity()
+	{
+		var sanity = this.sanity;
+		if (sanity == null)
+			this.sanity = sanity = SanityChecker.verdict(parsers, idPrefix, type);
+		return sanity;
+	}
+	
+	/**
+	 * @param declared
+	 *            The fully qualified names of types whose parsers are registered
+	 *            only at runtime.
+	 * @return The {@link #sanity()} as if there were parsers for the types named
+	 *         in {@code declared}. It isn't cached unless {@code declared} is
+	 *         empty.
+	 */
+	public SanityChecker.Verdict sanity(Set<String> declared)
+	{
+		if (declared.isEmpty())
+			return sanity();
+		return SanityChecker.verdict(parsers, declared, idPrefix, type);
+	}
+	
+	/**
+	 * @return The {@link #sanity()} of the class together with the issues of the
+	 *         default values of {@code target}, which are checked anew for every
+	 *         instance. The defaults of records are part of their class.
+	 */
+	public SanityChecker.Verdict sanity(IArgs target)
+	{
+		if (isRecord())
+			return sanity();
+		return sanity().and(SanityChecker.defaults(idPrefix, target));
+	}
+	
+	/**
+	 * @return The list of the help ids and all arguments with their info. It is
+	 *         rendered only once, the options are padded to the longest one.
+	 */
+	public String help()
+	{
+		final var event = new Events.Help();
+		event.begin();
+		
+		var			help		= this.help;
+		final var	rendered	= help == null;
+		if (rendered)
+			this.help = help = generated == null ? renderHelp() : generated.help();
+		
+		event.report(type, help.length(), rendered);
+		return help;
+	}
+	
+	/**
+	 * Writes {@code programInfo} and the {@link #help()} in a single call and
+	 * terminates if {@link #terminateAfterHelp}.
+	 */
+	public void printHelp(String programInfo, PrintStream output, IntConsumer terminateAction)
+	{
+		output.print(programInfo + "\n\n" + help() + "\n");
+		
+		if (terminateAfterHelp)
+			terminateAction.accept(0);
+	}
+	
+	private String renderHelp()
+	{
+		final var ids = Arrays.stream(helpIDs)
+			.map(id -> idPrefix + id)
+			.reduce("%s %s"::formatted)
+			.orElse("");
+		
+		var width = ids.length();
+		for (final var binding : bindings)
+			width = Math.max(width, idPrefix.length() + binding.name.length());
+		
+		final var help = new StringBuilder();
+		option(help, width, ids, terminateAfterHelp ? "display this help and exit." : "display this help.");
+		help.append('\n');
+		for (final var binding : bindings)
+			option(help, width, idPrefix + binding.name, binding.info);
+		return help.toString();
+	}
+	
+	private static void option(StringBuilder help, int width, String option, String info)
+	{
+		help.append(' ')
+			.append(option)
+			.append(" ".repeat(width - option.length()))
+			.append("  ")
+			.append(info)
+			.append('\n');
+	}
+	
+	/**
+	 * @param supplied
+	 *            The supplied arguments in the order they were supplied.
+	 * @return The first violated requirement, exclusion or missing required
+	 *         argument, or null if there is none.
+	 */
+	public Diagnostic violation(List<Binding> supplied)
+	{
+		if (generated != null)
+		{
+			final var	ordinals	= new int[supplied.size()];
+			final var	present		= new boolean[bindings.size()];
+			for (int i = 0; i < ordinals.length; i++)
+				present[ordinals[i] = supplied.get(i).ordinal] = true;
+			return generated.validate(ordinals, ordinals.length, present);
+		}
+		
+		final var present = new long[words];
+		for (final var arg : supplied)
+			Bits.set(present, arg.ordinal);
+		
+		for (final var arg : supplied)
+		{
+			final var requires = requiresMasks[arg.ordinal];
+			if (unsatisfiable[arg.ordinal] || requires != null && !Bits.containsAll(present, requires))
+				for (final var required : arg.requires)
+					if (!isPresent(present, required))
+						return new Diagnostic.MissingRequirement(idPrefix, arg.name, required);
+					
+			final var excludes = excludesMasks[arg.ordinal];
+			if (excludes != null && Bits.intersects(present, excludes))
+				for (final var excluded : arg.excludes)
+					if (isPresent(present, excluded))
+						return new Diagnostic.Exclusion(idPrefix, arg.name, excluded);
+		}
+		
+		if (!Bits.containsAll(present, requiredMask))
+			for (final var binding : bindings)
+				if (binding.isRequired && !isPresent(present, binding.name))
+					return new Diagnostic.MissingRequired(idPrefix, binding.name);
+				
+		return null;
+	}
+	
+	/**
+	 * Only used to find the first violation, after the masks reported one.
+	 */
+	private boolean isPresent(long[] present, String name)
+	{
+		final var binding = byName.get(name);
+		return binding != null && Bits.get(present, binding.ordinal);
+	}
+}
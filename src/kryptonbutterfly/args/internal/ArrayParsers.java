@@ -0,0 +1,234 @@
+package kryptonbutterfly.args.internal;
+
+import java.lang.reflect.Array;
+import java.util.regex.Pattern;
+
+import kryptonbutterfly.args.WindowParser;
+
+/**
+ * Parses delimited primitive arrays in a single pass over the source, straight
+ * into the resulting array, without splitting it into substrings first.
+ * <p>
+ * The elements are the same {@link String#split(String)} would produce for the
+ * delimiter: it is interpreted as a regular expression and trailing empty
+ * elements are dropped. Delimiters without regex meta characters (or a single
+ * escaped one, like {@code "\\|"}) are matched literally, all others fall back
+ * to {@link Pattern#split(CharSequence)}.
+ * </p>
+ */
+public final class ArrayParsers
+{
+	private static final String META_CHARS = ".$|()[{^?*+\\";
+	
+	private ArrayParsers()
+	{}
+	
+	public static long[] longs(String source, String delimiter)
+	{
+		final var	segments	= new Segments(source, delimiter);
+		final var	result		= new long[segments.count];
+		for (int i = 0; segments.next(); i++)
+			result[i] = Long.parseLong(segments.text, segments.start, segments.end, 10);
+		return result;
+	}
+	
+	public static int[] ints(String source, String delimiter)
+	{
+		final var	segments	= new Segments(source, delimiter);
+		final var	result		= new int[segments.count];
+		for (int i = 0; segments.next(); i++)
+			result[i] = Integer.parseInt(segments.text, segments.start, segments.end, 10);
+		return result;
+	}
+	
+	public static short[] shorts(String source, String delimiter)
+	{
+		final var	segments	= new Segments(source, delimiter);
+		final var	result		= new short[segments.count];
+		for (int i = 0; segments.next(); i++)
+			result[i] = (short) inRange(segments, Short.MIN_VALUE, Short.MAX_VALUE);
+		return result;
+	}
+	
+	public static byte[] bytes(String source, String delimiter)
+	{
+		final var	segments	= new Segments(source, delimiter);
+		final var	result		= new byte[segments.count];
+		for (int i = 0; segments.next(); i++)
+			result[i] = (byte) inRange(segments, Byte.MIN_VALUE, Byte.MAX_VALUE);
+		return result;
+	}
+	
+	public static boolean[] booleans(String source, String delimiter)
+	{
+		final var	segments	= new Segments(source, delimiter);
+		final var	result		= new boolean[segments.count];
+		for (int i = 0; segments.next(); i++)
+			result[i] = segments.end - segments.start == 4
+				&& segments.text.regionMatches(true, segments.start, "true", 0, 4);
+		return result;
+	}
+	
+	/**
+	 * There is no {@link CharSequence} based parser for floating point numbers,
+	 * so each element but a whole source is copied once.
+	 */
+	public static double[] doubles(String source, String delimiter)
+	{
+		final var	segments	= new Segments(source, delimiter);
+		final var	result		= new double[segments.count];
+		for (int i = 0; segments.next(); i++)
+			result[i] = Double.parseDouble(segments.string());
+		return result;
+	}
+	
+	/**
+	 * @see #doubles(String, String)
+	 */
+	public static float[] floats(String source, String delimiter)
+	{
+		final var	segments	= new Segments(source, delimiter);
+		final var	result		= new float[segments.count];
+		for (int i = 0; segments.next(); i++)
+			result[i] = Float.parseFloat(segments.string());
+		return result;
+	}
+	
+	/**
+	 * Parses every element with {@code parser} from its window of {@code source},
+	 * so elements aren't copied into Strings of their own.
+	 */
+	static Object windows(String source, String delimiter, Class<?> component, WindowParser<?> parser)
+	{
+		final var	segments	= new Segments(source, delimiter);
+		final var	result		= Array.newInstance(component, segments.count);
+		for (int i = 0; segments.next(); i++)
+			Array.set(result, i, parser.parse(delimiter, segments.text, segments.start, segments.end - segments.start));
+		return result;
+	}
+	
+	/**
+	 * Behaves like {@link Short#parseShort(String)} and
+	 * {@link Byte#parseByte(String)}.
+	 */
+	private static int inRange(Segments segments, int min, int max)
+	{
+		final var value = Integer.parseInt(segments.text, segments.start, segments.end, 10);
+		if (value < min || value > max)
+			throw new NumberFormatException(
+				"Value out of range. Value:\"%s\" Radix:10".formatted(segments.string()));
+		return value;
+	}
+	
+	/**
+	 * @return The literal form of {@code delimiter} or null if it has to be
+	 *         treated as a regular expression.
+	 */
+	private static String literal(String delimiter)
+	{
+		if (delimiter.length() == 2
+			&& delimiter.charAt(0) == '\\'
+			&& !Character.isLetterOrDigit(delimiter.charAt(1)))
+			return delimiter.substring(1);
+		
+		if (delimiter.isEmpty())
+			return null;
+		for (int i = 0; i < delimiter.length(); i++)
+			if (META_CHARS.indexOf(delimiter.charAt(i)) >= 0)
+				return null;
+		return delimiter;
+	}
+	
+	/**
+	 * A cursor over the elements of a delimited source. After {@link #next()}
+	 * returned true the current element is {@code text[start, end)}.
+	 */
+	private static final class Segments
+	{
+		private final String	source;
+		private final String	delimiter;
+		private final String[]	pieces;
+		final int				count;
+		
+		String	text;
+		int		start	= 0;
+		int		end		= 0;
+		
+		private int	index	= 0;
+		private int	pos		= 0;
+		
+		Segments(String source, String delimiter)
+		{
+			this.source		= source;
+			this.delimiter	= literal(delimiter);
+			if (this.delimiter == null)
+			{
+				this.pieces	= Pattern.compile(delimiter).split(source);
+				this.count	= pieces.length;
+			}
+			else
+			{
+				this.pieces	= null;
+				this.count	= count();
+				this.text	= source;
+			}
+		}
+		
+		/**
+		 * Counts the elements like {@link String#split(String)} does: a source
+		 * without any delimiter is a single element, otherwise trailing empty
+		 * elements are dropped.
+		 */
+		private int count()
+		{
+			int		segments	= 0;
+			int		nonEmpty	= 0;
+			int		pos			= 0;
+			boolean	matched		= false;
+			while (true)
+			{
+				final var	hit	= source.indexOf(delimiter, pos);
+				final var	end	= hit < 0 ? source.length() : hit;
+				segments++;
+				if (end > pos)
+					nonEmpty = segments;
+				if (hit < 0)
+					return matched ? nonEmpty : 1;
+				matched	= true;
+				pos		= hit + delimiter.length();
+			}
+		}
+		
+		boolean next()
+		{
+			if (index >= count)
+				return false;
+			
+			if (pieces != null)
+			{
+				text	= pieces[index++];
+				start	= 0;
+				end		= text.length();
+				return true;
+			}
+			
+			final var hit = source.indexOf(delimiter, pos);
+			start	= pos;
+			end		= hit < 0 ? source.length() : hit;
+			pos		= end + delimiter.length();
+			index++;
+			return true;
+		}
+		
+		/**
+		 * @return The current element as String, which is only copied if it is a
+		 *         part of {@link #text}.
+		 */
+		String string()
+		{
+			if (start == 0 && end == text.length())
+				return text;
+			return text.substring(start, end);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package kryptonbutterfly.args.internal;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.Flag;
+import kryptonbutterfly.args.IArgs;
+import kryptonbutterfly.args.Injection;
+
+/**
+ * A single {@link Argument} of an {@link ArgsSchema}.
+ */
+public abstract sealed class Binding permits HandleBinding, GeneratedBinding, FlagBinding, RecordBinding
+{
+	/**
+	 * The position of this binding in {@link ArgsSchema#bindings()}.
+	 */
+	public final int		ordinal;
+	public final String		name;
+	public final String		info;
+	public final String[]	requires;
+	public final String[]	excludes;
+	public final boolean	isRequired;
+	
+	Binding(int ordinal, Argument argument)
+	{
+		this(
+			ordinal,
+			argument.name(),
+			argument.info(),
+			argument.requires(),
+			argument.excludes(),
+			argument.isRequired());
+	}
+	
+	Binding(int ordinal, String name, String info, String[] requires, String[] excludes, boolean isRequired)
+	{
+		this.ordinal	= ordinal;
+		this.name		= name;
+		this.info		= info;
+		this.requires	= requires;
+		this.excludes	= excludes;
+		this.isRequired	= isRequired;
+	}
+	
+	/**
+	 * Consumes the value(s) of this argument from {@code iterator} and injects
+	 * them into {@code target}. Only field and method bindings distinguish the
+	 * {@link Injection} engines, all others always inject directly.
+	 * 
+	 * @param target
+	 *            The {@link IArgs} object, the values of the components of a
+	 *            record or the buffer of {@link ArgsSchema#flags()} if this is a
+	 *            {@link #isFlag() flag}.
+	 * @return false if the injection failed.
+	 */
+	public boolean inject(Injection injection, Object target, String arrayDelimiter, Iterator<String> iterator)
+	{
+		return inject(target, arrayDelimiter, iterator);
+	}
+	
+	abstract boolean inject(Object target, String arrayDelimiter, Iterator<String> iterator);
+	
+	/**
+	 * @return Whether this is a {@link Flag}, which sets its bit in the buffer of
+	 *         {@link ArgsSchema#flags()} instead of the target.
+	 */
+	public boolean isFlag()
+	{
+		return false;
+	}
+	
+	/**
+	 * @throws NoSuchElementException
+	 *             if a required parser is missing.
+	 */
+	abstract void checkParsers();
+	
+	/**
+	 * @return Whether this argument consumes no values, so it can be supplied as
+	 *         part of a cluster of flags.
+	 */
+	abstract boolean isSwitch();
+	
+	/**
+	 * @return The types of the value(s) of this argument.
+	 */
+	abstract Class<?>[] types();
+	
+	static final Supplier<NoSuchElementException> missingParser(Object target)
+	{
+		return () -> new NoSuchElementException(
+			"Couldn't find a parser for %s! Please register one.".formatted(target));
+	}
+}
@@ -0,0 +1,51 @@
+package kryptonbutterfly.args.internal;
+
+/**
+ * Operations on bit sets over argument ordinals, stored as {@code long[]} of a
+ * fixed length per schema.
+ */
+public final class Bits
+{
+	private Bits()
+	{}
+	
+	/**
+	 * @return The number of words needed to store {@code bits} bits.
+	 */
+	public static int words(int bits)
+	{
+		return (bits + 63) >>> 6;
+	}
+	
+	public static void set(long[] set, int bit)
+	{
+		set[bit >>> 6] |= 1L << bit;
+	}
+	
+	public static boolean get(long[] set, int bit)
+	{
+		return (set[bit >>> 6] & 1L << bit) != 0;
+	}
+	
+	/**
+	 * @return Whether every bit of {@code mask} is set in {@code set}.
+	 */
+	public static boolean containsAll(long[] set, long[] mask)
+	{
+		for (int i = 0; i < mask.length; i++)
+			if ((mask[i] & ~set[i]) != 0)
+				return false;
+		return true;
+	}
+	
+	/**
+	 * @return Whether any bit of {@code mask} is set in {@code set}.
+	 */
+	public static boolean intersects(long[] set, long[] mask)
+	{
+		for (int i = 0; i < mask.length; i++)
+			if ((mask[i] & set[i]) != 0)
+				return true;
+		return false;
+	}
+}
@@ -0,0 +1,356 @@
+package kryptonbutterfly.args.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.Flag;
+
+/**
+ * The requires/excludes graph of the arguments of a class, used to find
+ * arguments that can never be supplied.
+ * <p>
+ * Supplying an argument implies the transitive closure of its requirements and
+ * all required arguments with their closures. The closures are computed once per
+ * strongly connected component of the requires graph, sinks first, so every
+ * closure is the union of the closures of its successors. An argument can never
+ * be supplied if anything it implies excludes anything else it implies or
+ * requires an unknown argument. The arguments of a requirement cycle share
+ * their closure and are reported together.
+ * </p>
+ */
+final class ConstraintGraph
+{
+	private final String	idPrefix;
+	private final int		size;
+	private final int		words;
+	
+	private final String[]		names;
+	private final String[][]	excludes;
+	private final boolean[]		required;
+	private final int[][]		requires;
+	private final String[]		unknown;
+	private final long[][]		conflicts;
+	
+	private final int[]			component;
+	private final List<int[]>	members		= new ArrayList<>();
+	/**
+	 * The closures per component. Null for single arguments without
+	 * requirements, which only imply themselves.
+	 */
+	private final List<long[]>	closures	= new ArrayList<>();
+	
+	ConstraintGraph(String idPrefix, List<Node> args)
+	{
+		this.idPrefix	= idPrefix;
+		this.size		= args.size();
+		this.words		= Bits.words(size);
+		this.names		= new String[size];
+		this.excludes	= new String[size][];
+		this.required	= new boolean[size];
+		this.requires	= new int[size][];
+		this.unknown	= new String[size];
+		this.conflicts	= new long[size][];
+		this.component	= new int[size];
+		
+		final var ordinals = new HashMap<String, Integer>();
+		for (int i = 0; i < size; i++)
+		{
+			final var arg = args.get(i);
+			names[i]	= arg.name();
+			excludes[i]	= arg.excludes();
+			required[i]	= arg.isRequired();
+			ordinals.putIfAbsent(arg.name(), i);
+		}
+		
+		for (int i = 0; i < size; i++)
+		{
+			final var	arg		= args.get(i);
+			final var	edges	= new int[arg.requires().length];
+			var			count	= 0;
+			for (final var name : arg.requires())
+			{
+				final var ordinal = ordinals.get(name);
+				if (ordinal != null)
+					edges[count++] = ordinal;
+				else if (unknown[i] == null)
+					unknown[i] = name;
+			}
+			requires[i] = count == edges.length ? edges : Arrays.copyOf(edges, count);
+			
+			for (final var name : arg.excludes())
+			{
+				final var ordinal = ordinals.get(name);
+				if (ordinal == null)
+					continue;
+				Bits.set(conflicts(i), ordinal);
+				Bits.set(conflicts(ordinal), i);
+			}
+		}
+		
+		components();
+	}
+	
+	/**
+	 * The constraints of an {@link Argument} or {@link Flag}.
+	 */
+	static final record Node(String name, String[] requires, String[] excludes, boolean isRequired)
+	{
+		static Node of(Argument argument)
+		{
+			return new Node(argument.name(), argument.requires(), argument.excludes(), argument.isRequired());
+		}
+		
+		static Node of(Flag flag)
+		{
+			return new Node(flag.name(), flag.requires(), flag.excludes(), false);
+		}
+	}
+	
+	private long[] conflicts(int ordinal)
+	{
+		if (conflicts[ordinal] == null)
+			conflicts[ordinal] = new long[words];
+		return conflicts[ordinal];
+	}
+	
+	/**
+	 * Tarjan's algorithm without recursion, so deep requirement chains can't
+	 * overflow the stack. Components are emitted sinks first, which is the order
+	 * their closures have to be computed in.
+	 */
+	private void components()
+	{
+		final var	index		= new int[size];
+		final var	low			= new int[size];
+		final var	next		= new int[size];
+		final var	onStack		= new boolean[size];
+		final var	stack		= new int[size];
+		final var	frames		= new int[size];
+		var			stackSize	= 0;
+		var			counter		= 0;
+		Arrays.fill(index, -1);
+		
+		for (int root = 0; root < size; root++)
+		{
+			if (index[root] != -1)
+				continue;
+			
+			var frameCount = 0;
+			frames[frameCount++]	= root;
+			index[root]				= low[root] = counter++;
+			stack[stackSize++]		= root;
+			onStack[root]			= true;
+			
+			while (frameCount > 0)
+			{
+				final var v = frames[frameCount - 1];
+				if (next[v] < requires[v].length)
+				{
+					final var w = requires[v][next[v]++];
+					if (index[w] == -1)
+					{
+						frames[frameCount++]	= w;
+						index[w]				= low[w] = counter++;
+						stack[stackSize++]		= w;
+						onStack[w]				= true;
+					}
+					else if (onStack[w])
+						low[v] = Math.min(low[v], index[w]);
+					continue;
+				}
+				
+				frameCount--;
+				if (low[v] == index[v])
+				{
+					var start = stackSize;
+					while (stack[--start] != v);
+					emit(Arrays.copyOfRange(stack, start, stackSize));
+					for (int i = start; i < stackSize; i++)
+						onStack[stack[i]] = false;
+					stackSize = start;
+				}
+				if (frameCount > 0)
+				{
+					final var u = frames[frameCount - 1];
+					low[u] = Math.min(low[u], low[v]);
+				}
+			}
+		}
+	}
+	
+	private void emit(int[] members)
+	{
+		Arrays.sort(members);
+		final var id = this.members.size();
+		for (final var member : members)
+			component[member] = id;
+		this.members.add(members);
+		
+		if (members.length == 1 && requires[members[0]].length == 0)
+		{
+			closures.add(null);
+			return;
+		}
+		
+		final var closure = new long[words];
+		for (final var member : members)
+		{
+			Bits.set(closure, member);
+			for (final var w : requires[member])
+				if (component[w] != id)
+					addClosure(closure, w);
+		}
+		closures.add(closure);
+	}
+	
+	private void addClosure(long[] set, int ordinal)
+	{
+		final var closure = closures.get(component[ordinal]);
+		if (closure == null)
+			Bits.set(set, ordinal);
+		else
+			for (int i = 0; i < words; i++)
+				set[i] |= closure[i];
+	}
+	
+	/**
+	 * @return A description of every argument or requirement cycle that can never
+	 *         be supplied, or of the required arguments if they can't be supplied
+	 *         together, which makes every argument unusable.
+	 */
+	List<String> contradictions()
+	{
+		final var	issues			= new ArrayList<String>();
+		final var	requiredSet		= new long[words];
+		final var	requiredArgs	= new ArrayList<Integer>();
+		for (int i = 0; i < size; i++)
+			if (required[i])
+			{
+				addClosure(requiredSet, i);
+				requiredArgs.add(i);
+			}
+		
+		if (!requiredArgs.isEmpty())
+		{
+			final var	ordinals	= requiredArgs.stream().mapToInt(Integer::intValue).toArray();
+			final var	reason		= reason(requiredSet, ordinals, ordinals.length == 1 ? "it" : "they");
+			if (reason != null)
+			{
+				issues.add(
+					"The required argument%s %s can never be supplied%s%s".formatted(
+						ordinals.length == 1 ? "" : "s",
+						concat(ordinals),
+						ordinals.length == 1 ? "" : " together",
+						reason));
+				return issues;
+			}
+		}
+		
+		for (int i = 0; i < size; i++)
+		{
+			final var members = this.members.get(component[i]);
+			if (members[0] != i || isTrivial(i, requiredArgs.isEmpty() ? null : requiredSet))
+				continue;
+			
+			var set = closures.get(component[i]);
+			if (set == null || !requiredArgs.isEmpty())
+			{
+				set = requiredSet.clone();
+				addClosure(set, i);
+			}
+			
+			final var reason = reason(set, members, members.length == 1 ? "it" : "they");
+			if (reason == null)
+				continue;
+			
+			if (members.length == 1)
+				issues.add("The argument %s can never be supplied%s".formatted(concat(members), reason));
+			else
+				issues.add(
+					"The arguments %s require each other and can never be supplied%s"
+						.formatted(concat(members), reason));
+		}
+		return issues;
+	}
+	
+	/**
+	 * The fast path for arguments without requirements, which are the most common
+	 * ones and only imply themselves and the required arguments.
+	 */
+	private boolean isTrivial(int ordinal, long[] requiredSet)
+	{
+		if (closures.get(component[ordinal]) != null || unknown[ordinal] != null)
+			return false;
+		
+		final var conflicting = conflicts[ordinal];
+		return conflicting == null
+			|| !Bits.get(conflicting, ordinal) && (requiredSet == null || !Bits.intersects(requiredSet, conflicting));
+	}
+	
+	/**
+	 * @param implied
+	 *            Everything supplying {@code members} implies.
+	 * @return Why {@code implied} can't be supplied or null if it can.
+	 */
+	private String reason(long[] implied, int[] members, String pronoun)
+	{
+		for (int w = 0; w < words; w++)
+			for (var word = implied[w]; word != 0; word &= word - 1)
+			{
+				final var x = (w << 6) + Long.numberOfTrailingZeros(word);
+				if (unknown[x] != null)
+					return "%s %s requires the unknown argument %s%s.".formatted(
+						implies(members, pronoun, x),
+						idPrefix + names[x],
+						idPrefix,
+						unknown[x]);
+				
+				final var conflicting = conflicts[x];
+				if (conflicting == null || !Bits.intersects(implied, conflicting))
+					continue;
+				
+				final var y = first(implied, conflicting);
+				final var xExcludesY = Arrays.asList(excludes[x]).contains(names[y]);
+				return "%s %s excludes %s.".formatted(
+					implies(members, pronoun, x, y),
+					idPrefix + names[xExcludesY ? x : y],
+					idPrefix + names[xExcludesY ? y : x]);
+			}
+		return null;
+	}
+	
+	private int first(long[] set, long[] mask)
+	{
+		for (int w = 0; w < words; w++)
+			if ((set[w] & mask[w]) != 0)
+				return (w << 6) + Long.numberOfTrailingZeros(set[w] & mask[w]);
+		throw new IllegalStateException();
+	}
+	
+	/**
+	 * @return The part of the reason naming the implied arguments involved, that
+	 *         aren't {@code members} themselves.
+	 */
+	private String implies(int[] members, String pronoun, int... involved)
+	{
+		final var implied = Arrays.stream(involved)
+			.distinct()
+			.sorted()
+			.filter(ordinal -> Arrays.binarySearch(members, ordinal) < 0)
+			.toArray();
+		if (implied.length == 0)
+			return ", as";
+		return ", as %s impl%s %s, but".formatted(pronoun, pronoun.equals("it") ? "ies" : "y", concat(implied));
+	}
+	
+	private String concat(int[] ordinals)
+	{
+		final var prefixed = new String[ordinals.length];
+		for (int i = 0; i < ordinals.length; i++)
+			prefixed[i] = names[ordinals[i]];
+		return SanityChecker.concat(idPrefix, ", ", " & ", prefixed);
+	}
+}
@@ -0,0 +1,98 @@
+package kryptonbutterfly.args.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import kryptonbutterfly.args.DoubleTypeParser;
+import kryptonbutterfly.args.FloatTypeParser;
+import kryptonbutterfly.args.IntTypeParser;
+import kryptonbutterfly.args.LongTypeParser;
+import kryptonbutterfly.args.TypeParser;
+import kryptonbutterfly.args.WindowParser;
+
+/**
+ * The parsers every parser registry starts with. They are built once and
+ * shared, parsers only store the parsers added on top of them.
+ */
+final class DefaultParsers
+{
+	static final Map<Class<?>, TypeParser<?>> REGISTRY = registry();
+	
+	/**
+	 * The resolver of all parsers without added parsers, so they share their
+	 * memoized resolutions too.
+	 */
+	static final ParserResolver RESOLVER = new ParserResolver(REGISTRY, Map.of());
+	
+	private DefaultParsers()
+	{}
+	
+	private static Map<Class<?>, TypeParser<?>> registry()
+	{
+		final var parsers = new HashMap<Class<?>, TypeParser<?>>();
+		add(parsers, String.class, (d, v) -> v.next());
+		add(parsers, long.class, (LongTypeParser) (d, v) -> Long.parseLong(v.next()));
+		add(parsers, Long.class, (d, s, o, l) -> Long.valueOf(Long.parseLong(s, o, o + l, 10)));
+		add(parsers, int.class, (IntTypeParser) (d, v) -> Integer.parseInt(v.next()));
+		add(parsers, Integer.class, (d, s, o, l) -> Integer.valueOf(Integer.parseInt(s, o, o + l, 10)));
+		add(parsers, short.class, (d, v) -> Short.parseShort(v.next()));
+		add(parsers, Short.class, (d, v) -> Short.valueOf(v.next()));
+		add(parsers, char.class, (d, v) -> v.next().charAt(0));
+		add(parsers, Character.class, (d, v) -> Character.valueOf(v.next().charAt(0)));
+		add(parsers, byte.class, (d, v) -> Byte.parseByte(v.next()));
+		add(parsers, Byte.class, (d, v) -> Byte.valueOf(Byte.parseByte(v.next())));
+		add(parsers, boolean.class, (d, v) -> Boolean.parseBoolean(v.next()));
+		add(parsers, Boolean.class, (d, v) -> Boolean.valueOf(v.next()));
+		add(parsers, double.class, (DoubleTypeParser) (d, v) -> Double.parseDouble(v.next()));
+		add(parsers, Double.class, (d, v) -> Double.valueOf(v.next()));
+		add(parsers, float.class, (FloatTypeParser) (d, v) -> Float.parseFloat(v.next()));
+		add(parsers, Float.class, (d, v) -> Float.valueOf(v.next()));
+		add(parsers, String[].class, (d, v) -> v.hasNext() ? v.next().split(d) : new String[0]);
+		add(parsers, long[].class, (d, v) -> {
+			if (!v.hasNext())
+				return new long[0];
+			return ArrayParsers.longs(v.next(), d);
+		});
+		add(parsers, int[].class, (d, v) -> {
+			if (!v.hasNext())
+				return new int[0];
+			return ArrayParsers.ints(v.next(), d);
+		});
+		add(parsers, short[].class, (d, v) -> {
+			if (!v.hasNext())
+				return new short[0];
+			return ArrayParsers.shorts(v.next(), d);
+		});
+		add(parsers, byte[].class, (d, v) -> {
+			if (!v.hasNext())
+				return new byte[0];
+			return ArrayParsers.bytes(v.next(), d);
+		});
+		add(parsers, boolean[].class, (d, v) -> {
+			if (!v.hasNext())
+				return new boolean[0];
+			return ArrayParsers.booleans(v.next(), d);
+		});
+		add(parsers, double[].class, (d, v) -> {
+			if (!v.hasNext())
+				return new double[0];
+			return ArrayParsers.doubles(v.next(), d);
+		});
+		add(parsers, float[].class, (d, v) -> {
+			if (!v.hasNext())
+				return new float[0];
+			return ArrayParsers.floats(v.next(), d);
+		});
+		return Map.copyOf(parsers);
+	}
+	
+	private static <T> void add(Map<Class<?>, TypeParser<?>> parsers, Class<T> type, TypeParser<T> parser)
+	{
+		parsers.put(type, parser);
+	}
+	
+	private static <T> void add(Map<Class<?>, TypeParser<?>> parsers, Class<T> type, WindowParser<T> parser)
+	{
+		parsers.put(type, parser);
+	}
+}
@@ -0,0 +1,208 @@
+package kryptonbutterfly.args.internal;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The JDK Flight Recorder events of a parse. Every event is used like
+ * 
+ * <pre>
+ * final var event = new Events.Parse();
+ * event.begin();
+ * ...
+ * event.report(...);
+ * </pre>
+ * 
+ * and only fills in its fields if it is going to be committed. While JFR is
+ * disabled the JIT removes the events entirely.
+ */
+public final class Events
+{
+	private static final String CATEGORY = "tinyArgs";
+	
+	private Events()
+	{}
+	
+	@Name("kryptonbutterfly.args.Parse")
+	@Label("Parse")
+	@Description("A parse of the command line into an IArgs object.")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static final class Parse extends Event
+	{
+		@Label("Args Class")
+		Class<?>	argsClass;
+		@Label("Tokens")
+		@Description("The number of tokens consumed, including the tokens of argument files.")
+		int			tokens;
+		@Label("Arguments")
+		@Description("The number of arguments supplied.")
+		int			arguments;
+		@Label("Success")
+		boolean		success;
+		
+		public void report(Class<?> argsClass, int tokens, int arguments, boolean success)
+		{
+			end();
+			if (!shouldCommit())
+				return;
+			
+			this.argsClass	= argsClass;
+			this.tokens		= tokens;
+			this.arguments	= arguments;
+			this.success	= success;
+			commit();
+		}
+	}
+	
+	@Name("kryptonbutterfly.args.SanityCheck")
+	@Label("Sanity Check")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static final class SanityCheck extends Event
+	{
+		@Label("Args Class")
+		Class<?>	argsClass;
+		@Label("Passed")
+		boolean		passed;
+		
+		public void report(Class<?> argsClass, boolean passed)
+		{
+			end();
+			if (!shouldCommit())
+				return;
+			
+			this.argsClass	= argsClass;
+			this.passed		= passed;
+			commit();
+		}
+	}
+	
+	@Name("kryptonbutterfly.args.Resolution")
+	@Label("Name Resolution")
+	@Description("The resolution of a token to an argument.")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static final class Resolution extends Event
+	{
+		@Label("Token")
+		String	token;
+		@Label("Outcome")
+		@Description("argument, help, unknown or ambiguous.")
+		String	outcome;
+		
+		public void report(String token, int ordinal)
+		{
+			end();
+			if (!shouldCommit())
+				return;
+			
+			this.token		= token;
+			this.outcome	= switch (ordinal)
+			{
+				case ArgsSchema.HELP -> "help";
+				case ArgsSchema.UNKNOWN -> "unknown";
+				case ArgsSchema.AMBIGUOUS -> "ambiguous";
+				default -> "argument";
+			};
+			commit();
+		}
+	}
+	
+	@Name("kryptonbutterfly.args.Conversion")
+	@Label("Conversion")
+	@Description("The conversion of the value(s) of an argument by its parsers and their injection.")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static final class Conversion extends Event
+	{
+		@Label("Argument")
+		String	argument;
+		@Label("Target Type")
+		@Description("The parameter type(s) of the argument.")
+		String	targetType;
+		@Label("Values")
+		@Description("The number of tokens converted.")
+		int		values;
+		@Label("Success")
+		boolean	success;
+		
+		public void report(Binding binding, int values, boolean success)
+		{
+			end();
+			if (!shouldCommit())
+				return;
+			
+			this.argument	= binding.name;
+			this.targetType	= Arrays.stream(binding.types())
+				.map(Class::getTypeName)
+				.collect(Collectors.joining(", "));
+			this.values		= values;
+			this.success	= success;
+			commit();
+		}
+	}
+	
+	@Name("kryptonbutterfly.args.Validation")
+	@Label("Validation")
+	@Description("The check of the requirements, exclusions and required arguments.")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static final class Validation extends Event
+	{
+		@Label("Args Class")
+		Class<?>	argsClass;
+		@Label("Arguments")
+		@Description("The number of arguments supplied.")
+		int			arguments;
+		@Label("Violation")
+		@Description("The kind of the first violation or null if there is none.")
+		String		violation;
+		
+		public void report(Class<?> argsClass, int arguments, Object violation)
+		{
+			end();
+			if (!shouldCommit())
+				return;
+			
+			this.argsClass	= argsClass;
+			this.arguments	= arguments;
+			this.violation	= violation == null ? null : violation.getClass().getSimpleName();
+			commit();
+		}
+	}
+	
+	@Name("kryptonbutterfly.args.Help")
+	@Label("Help Rendering")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static final class Help extends Event
+	{
+		@Label("Args Class")
+		Class<?>	argsClass;
+		@Label("Length")
+		int			length;
+		@Label("Rendered")
+		@Description("Whether the help was rendered or the already rendered help was reused.")
+		boolean		rendered;
+		
+		void report(Class<?> argsClass, int length, boolean rendered)
+		{
+			end();
+			if (!shouldCommit())
+				return;
+			
+			this.argsClass	= argsClass;
+			this.length		= length;
+			this.rendered	= rendered;
+			commit();
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package kryptonbutterfly.args.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.util.Iterator;
+
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.DoubleTypeParser;
+import kryptonbutterfly.args.FloatTypeParser;
+import kryptonbutterfly.args.IntTypeParser;
+import kryptonbutterfly.args.LongTypeParser;
+import kryptonbutterfly.args.TypeParser;
+
+final class FieldBinding extends HandleBinding
+{
+	private final Field			field;
+	private final TypeParser<?>	parser;
+	
+	FieldBinding(int ordinal, Argument argument, Field field, ParserResolver parsers)
+	{
+		this(ordinal, argument, field, parsers.resolve(field.getGenericType()));
+	}
+	
+	private FieldBinding(int ordinal, Argument argument, Field field, TypeParser<?> parser)
+	{
+		super(ordinal, argument, link(field, parser));
+		this.field	= field;
+		this.parser	= parser;
+	}
+	
+	@Override
+	boolean inject(Object target, String arrayDelimiter, Iterator<String> iterator)
+	{
+		final var type = field.getType();
+		try
+		{
+			if (type == boolean.class)
+				field.set(target, true);
+			else if (type == int.class && parser instanceof IntTypeParser p)
+				field.setInt(target, p.parseInt(arrayDelimiter, iterator));
+			else if (type == long.class && parser instanceof LongTypeParser p)
+				field.setLong(target, p.parseLong(arrayDelimiter, iterator));
+			else if (type == float.class && parser instanceof FloatTypeParser p)
+				field.setFloat(target, p.parseFloat(arrayDelimiter, iterator));
+			else if (type == double.class && parser instanceof DoubleTypeParser p)
+				field.setDouble(target, p.parseDouble(arrayDelimiter, iterator));
+			else
+			{
+				checkParsers();
+				field.set(target, parser.parse(arrayDelimiter, iterator));
+			}
+			
+			return true;
+		}
+		catch (IllegalArgumentException | IllegalAccessException e)
+		{
+			e.printStackTrace();
+		}
+		return false;
+	}
+	
+	@Override
+	void checkParsers()
+	{
+		if (parser == null && field.getType() != boolean.class)
+			throw missingParser(field.getGenericType()).get();
+	}
+	
+	@Override
+	boolean isSwitch()
+	{
+		return field.getType() == boolean.class;
+	}
+	
+	@Override
+	Class<?>[] types()
+	{
+		return new Class<?>[] { field.getType() };
+	}
+	
+	/**
+	 * @return A handle of the type (Object, String, Iterator)boolean.
+	 */
+	private static MethodHandle link(Field field, TypeParser<?> parser)
+	{
+		field.setAccessible(true);
+		try
+		{
+			final var setter = receiver(MethodHandles.lookup().unreflectSetter(field), field);
+			if (field.getType() == boolean.class)
+				return link(MethodHandles.insertArguments(setter, 1, true));
+			return link(setter, parse(parser, field.getType()));
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+}
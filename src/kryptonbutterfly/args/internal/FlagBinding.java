@@ -0,0 +1,138 @@
+package kryptonbutterfly.args.internal;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+
+import kryptonbutterfly.args.Flag;
+import kryptonbutterfly.args.Injection;
+
+/**
+ * A {@link Flag}, which sets its bit in a {@code long}, {@code long[]} or
+ * {@link BitSet} field. The bits are collected per parse in the buffer of
+ * {@link ArgsSchema#flags()} and written to each field once, so a cluster of
+ * flags copies a {@code long[]} or {@link BitSet} at most once. The
+ * {@link Injection} engine has no effect on it.
+ */
+final class FlagBinding extends Binding
+{
+	/**
+	 * The index of the field of this flag in the buffer of
+	 * {@link ArgsSchema#flags()}.
+	 */
+	private final int	slot;
+	/**
+	 * The number of words needed for the highest bit of all flags of the field.
+	 */
+	private final int	words;
+	private final int	bit;
+	
+	FlagBinding(int ordinal, Flag flag, int slot, int words)
+	{
+		super(ordinal, flag.name(), flag.info(), flag.requires(), flag.excludes(), false);
+		this.slot	= slot;
+		this.words	= words;
+		this.bit	= flag.bit();
+	}
+	
+	@Override
+	public boolean isFlag()
+	{
+		return true;
+	}
+	
+	@Override
+	boolean inject(Object target, String arrayDelimiter, Iterator<String> iterator)
+	{
+		final var flags = (long[][]) target;
+		if (flags[slot] == null)
+			flags[slot] = new long[words];
+		Bits.set(flags[slot], bit);
+		return true;
+	}
+	
+	/**
+	 * Adds the issues of {@code flags} to {@code issues} that would make them
+	 * fail while parsing: a {@code field} that can't hold flags and bits out of
+	 * its range.
+	 */
+	static void validate(String idPrefix, Field field, Flag[] flags, List<String> issues)
+	{
+		final var type = field.getType();
+		if (type != long.class && type != long[].class && type != BitSet.class)
+		{
+			issues.add(
+				"The field %s of the type %s can't hold flags, only long, long[] and BitSet fields can.".formatted(
+					field.getName(),
+					type.getSimpleName()));
+			return;
+		}
+		
+		for (final var flag : flags)
+			if (flag.bit() < 0 || type == long.class && flag.bit() >= Long.SIZE)
+				issues.add(
+					"The bit %d of the flag %s%s is out of the range of the field %s.".formatted(
+						flag.bit(),
+						idPrefix,
+						flag.name(),
+						field.getName()));
+	}
+	
+	/**
+	 * Sets the collected {@code bits} in {@code field} of {@code target}. A
+	 * {@code long[]} or {@link BitSet} is replaced by a copy, as it may be shared
+	 * with other objects.
+	 */
+	static void write(Field field, Object target, long[] bits)
+	{
+		try
+		{
+			final var type = field.getType();
+			if (type == long.class)
+				field.setLong(target, field.getLong(target) | bits[0]);
+			else if (type == long[].class)
+			{
+				var used = bits.length;
+				while (used > 0 && bits[used - 1] == 0)
+					used--;
+				
+				final var	words	= (long[]) field.get(target);
+				final var	copy	= words == null
+					? new long[used]
+					: Arrays.copyOf(words, Math.max(words.length, used));
+				for (int i = 0; i < used; i++)
+					copy[i] |= bits[i];
+				field.set(target, copy);
+			}
+			else
+			{
+				final var set	= (BitSet) field.get(target);
+				final var copy	= set == null ? new BitSet() : (BitSet) set.clone();
+				copy.or(BitSet.valueOf(bits));
+				field.set(target, copy);
+			}
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	@Override
+	void checkParsers()
+	{}
+	
+	@Override
+	boolean isSwitch()
+	{
+		return true;
+	}
+	
+	@Override
+	Class<?>[] types()
+	{
+		return new Class<?>[0];
+	}
+}
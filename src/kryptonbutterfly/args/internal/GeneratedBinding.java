@@ -0,0 +1,64 @@
+package kryptonbutterfly.args.internal;
+
+import java.util.Iterator;
+
+import kryptonbutterfly.args.GeneratedParser;
+import kryptonbutterfly.args.IArgs;
+import kryptonbutterfly.args.Injection;
+import kryptonbutterfly.args.TypeParser;
+
+/**
+ * A binding that injects through the direct field writes of a
+ * {@link GeneratedParser}. The {@link Injection} engine has no effect on it.
+ */
+final class GeneratedBinding extends Binding
+{
+	private final GeneratedParser<IArgs>	generated;
+	private final Class<?>[]				paramTypes;
+	private final TypeParser<?>[]			parsers;
+	
+	@SuppressWarnings("unchecked")
+	GeneratedBinding(int ordinal, GeneratedParser<?> generated, ParserResolver resolver)
+	{
+		super(
+			ordinal,
+			generated.names()[ordinal],
+			generated.infos()[ordinal],
+			generated.requires()[ordinal],
+			generated.excludes()[ordinal],
+			generated.isRequired()[ordinal]);
+		this.generated	= (GeneratedParser<IArgs>) generated;
+		this.paramTypes	= generated.types()[ordinal];
+		this.parsers	= new TypeParser<?>[paramTypes.length];
+		for (int i = 0; i < paramTypes.length; i++)
+			parsers[i] = resolver.resolve(paramTypes[i]);
+	}
+	
+	@Override
+	boolean inject(Object target, String arrayDelimiter, Iterator<String> iterator)
+	{
+		checkParsers();
+		generated.inject((IArgs) target, ordinal, arrayDelimiter, iterator, parsers);
+		return true;
+	}
+	
+	@Override
+	void checkParsers()
+	{
+		for (int i = 0; i < paramTypes.length; i++)
+			if (parsers[i] == null)
+				throw missingParser(paramTypes[i]).get();
+	}
+	
+	@Override
+	boolean isSwitch()
+	{
+		return paramTypes.length == 0;
+	}
+	
+	@Override
+	Class<?>[] types()
+	{
+		return paramTypes.clone();
+	}
+}
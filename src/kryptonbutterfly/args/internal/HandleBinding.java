@@ -0,0 +1,176 @@
+package kryptonbutterfly.args.internal;
+
+import static java.lang.invoke.MethodType.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Member;
+import java.lang.reflect.Modifier;
+import java.util.Iterator;
+
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.DoubleTypeParser;
+import kryptonbutterfly.args.FloatTypeParser;
+import kryptonbutterfly.args.Injection;
+import kryptonbutterfly.args.IntTypeParser;
+import kryptonbutterfly.args.LongTypeParser;
+import kryptonbutterfly.args.TypeParser;
+
+/**
+ * An {@link Argument} field or method, which is injected through a
+ * {@link MethodHandle} unless {@link Injection#REFLECTION} is selected.
+ */
+abstract sealed class HandleBinding extends Binding permits FieldBinding, MethodBinding
+{
+	private static final MethodHandle	PARSE;
+	private static final MethodHandle	PARSE_INT;
+	private static final MethodHandle	PARSE_LONG;
+	private static final MethodHandle	PARSE_FLOAT;
+	private static final MethodHandle	PARSE_DOUBLE;
+	private static final MethodHandle	FAILED;
+	
+	static
+	{
+		try
+		{
+			final var lookup = MethodHandles.lookup();
+			PARSE			= lookup.findVirtual(
+				TypeParser.class,
+				"parse",
+				methodType(Object.class, String.class, Iterator.class));
+			PARSE_INT		= lookup.findVirtual(
+				IntTypeParser.class,
+				"parseInt",
+				methodType(int.class, String.class, Iterator.class));
+			PARSE_LONG		= lookup.findVirtual(
+				LongTypeParser.class,
+				"parseLong",
+				methodType(long.class, String.class, Iterator.class));
+			PARSE_FLOAT		= lookup.findVirtual(
+				FloatTypeParser.class,
+				"parseFloat",
+				methodType(float.class, String.class, Iterator.class));
+			PARSE_DOUBLE	= lookup.findVirtual(
+				DoubleTypeParser.class,
+				"parseDouble",
+				methodType(double.class, String.class, Iterator.class));
+			FAILED			= lookup.findStatic(
+				HandleBinding.class,
+				"failed",
+				methodType(boolean.class, Throwable.class));
+		}
+		catch (NoSuchMethodException | IllegalAccessException e)
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	/**
+	 * Invokes the (Object target, String arrayDelimiter, Iterator iterator)boolean
+	 * handle linked with the schema, as a constant of its own class.
+	 */
+	private final Injector injector;
+	
+	HandleBinding(int ordinal, Argument argument, MethodHandle handle)
+	{
+		super(ordinal, argument);
+		this.injector = Injector.of(handle);
+	}
+	
+	/**
+	 * Consumes the value(s) of this argument from {@code iterator} and injects
+	 * them into {@code target} with the selected {@link Injection} engine.
+	 *
+	 * @return false if the injection failed.
+	 */
+	@Override
+	public boolean inject(Injection injection, Object target, String arrayDelimiter, Iterator<String> iterator)
+	{
+		if (injection == Injection.REFLECTION)
+			return inject(target, arrayDelimiter, iterator);
+		
+		checkParsers();
+		try
+		{
+			return injector.inject(target, arrayDelimiter, iterator);
+		}
+		catch (RuntimeException | Error e)
+		{
+			throw e;
+		}
+		catch (Throwable t)
+		{
+			return failed(t);
+		}
+	}
+	
+	/**
+	 * @param type
+	 *            The type of the value to be produced.
+	 * @return A handle of the type (String, Iterator)type that invokes
+	 *         {@code parser}. Primitive parsers of primitive types are invoked
+	 *         without boxing.
+	 */
+	static final MethodHandle parse(TypeParser<?> parser, Class<?> type)
+	{
+		if (type == int.class && parser instanceof IntTypeParser)
+			return PARSE_INT.bindTo(parser);
+		if (type == long.class && parser instanceof LongTypeParser)
+			return PARSE_LONG.bindTo(parser);
+		if (type == float.class && parser instanceof FloatTypeParser)
+			return PARSE_FLOAT.bindTo(parser);
+		if (type == double.class && parser instanceof DoubleTypeParser)
+			return PARSE_DOUBLE.bindTo(parser);
+		return PARSE.bindTo(parser).asType(methodType(type, String.class, Iterator.class));
+	}
+	
+	/**
+	 * Binds the injecting {@code target} handle to the values produced by
+	 * {@code parsers}, which are invoked in order, and reports failures of
+	 * {@code target} the same way the reflective injection does.
+	 */
+	static final MethodHandle link(MethodHandle target, MethodHandle... parsers)
+	{
+		final var params = target.type().parameterList();
+		target = MethodHandles.foldArguments(
+			MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, params),
+			target);
+		target = MethodHandles.catchException(
+			target,
+			Throwable.class,
+			MethodHandles.dropArguments(FAILED, 1, params));
+		
+		// collecting backwards keeps the outermost parser the first one invoked.
+		for (int i = parsers.length - 1; i >= 0; i--)
+			target = MethodHandles.collectArguments(target, 1 + i, parsers[i]);
+		
+		final var reorder = new int[1 + 2 * parsers.length];
+		for (int i = 0; i < parsers.length; i++)
+		{
+			reorder[1 + 2 * i]	= 1;
+			reorder[2 + 2 * i]	= 2;
+		}
+		return MethodHandles.permuteArguments(
+			target,
+			methodType(boolean.class, params.get(0), String.class, Iterator.class),
+			reorder)
+			.asType(methodType(boolean.class, Object.class, String.class, Iterator.class));
+	}
+	
+	/**
+	 * Static members get a leading receiver parameter, that is ignored, like it
+	 * is by reflection.
+	 */
+	static final MethodHandle receiver(MethodHandle handle, Member member)
+	{
+		if (Modifier.isStatic(member.getModifiers()))
+			return MethodHandles.dropArguments(handle, 0, Object.class);
+		return handle;
+	}
+	
+	private static boolean failed(Throwable t)
+	{
+		t.printStackTrace();
+		return false;
+	}
+}
@@ -0,0 +1,31 @@
+package kryptonbutterfly.args.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Iterator;
+
+/**
+ * Injects the value(s) of a single {@link HandleBinding}. Every injector is a
+ * hidden class of its own holding the handle of its binding in a static final
+ * field, which the JIT treats as a constant. So the handle is inlined into
+ * {@link #inject(Object, String, Iterator)} no matter how many bindings the
+ * parse loop calls.
+ */
+interface Injector
+{
+	/**
+	 * Invokes the handle of the binding.
+	 * 
+	 * @return false if the injection failed.
+	 */
+	boolean inject(Object target, String arrayDelimiter, Iterator<String> iterator) throws Throwable;
+	
+	/**
+	 * @param handle
+	 *            A handle of the type (Object, String, Iterator)boolean.
+	 * @return A new injector class invoking {@code handle}.
+	 */
+	static Injector of(MethodHandle handle)
+	{
+		return InjectorClass.define(handle);
+	}
+}
@@ -0,0 +1,195 @@
+package kryptonbutterfly.args.internal;
+
+import static java.lang.invoke.MethodType.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Spins the hidden classes of {@link Injector}. The class file is the same for
+ * every binding, the handle is passed as class data and read into a static
+ * final field by the static initializer:
+ * 
+ * <pre>
+ * final class LinkedInjector implements Injector
+ * {
+ * 	private static final MethodHandle HANDLE = MethodHandles.classData(
+ * 		MethodHandles.lookup(),
+ * 		"_",
+ * 		MethodHandle.class);
+ * 
+ * 	public boolean inject(Object target, String arrayDelimiter, Iterator iterator)
+ * 	{
+ * 		return (boolean) HANDLE.invokeExact(target, arrayDelimiter, iterator);
+ * 	}
+ * }
+ * </pre>
+ */
+final class InjectorClass
+{
+	private static final int	CLASS				= 7;
+	private static final int	STRING				= 8;
+	private static final int	FIELD_REF			= 9;
+	private static final int	METHOD_REF			= 10;
+	private static final int	NAME_AND_TYPE		= 12;
+	private static final int	UTF8				= 1;
+	
+	private static final String	INJECT_DESCRIPTOR		= "(Ljava/lang/Object;Ljava/lang/String;Ljava/util/Iterator;)Z";
+	private static final String	CLASS_DATA_DESCRIPTOR	=
+		"(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;";
+	
+	private static final byte[] BYTES = bytes();
+	
+	private InjectorClass()
+	{}
+	
+	static Injector define(MethodHandle handle)
+	{
+		try
+		{
+			final var lookup = MethodHandles.lookup().defineHiddenClassWithClassData(BYTES, handle, true);
+			return (Injector) lookup.findConstructor(lookup.lookupClass(), methodType(void.class)).invoke();
+		}
+		catch (RuntimeException | Error e)
+		{
+			throw e;
+		}
+		catch (Throwable t)
+		{
+			throw new IllegalStateException(t);
+		}
+	}
+	
+	private static byte[] bytes()
+	{
+		final var buffer = new ByteArrayOutputStream();
+		try (final var out = new DataOutputStream(buffer))
+		{
+			out.writeInt(0xCAFEBABE);
+			out.writeShort(0);
+			out.writeShort(61);
+			
+			out.writeShort(36);
+			utf8(out, "kryptonbutterfly/args/internal/LinkedInjector");	// 1
+			ref(out, CLASS, 1);												// 2
+			utf8(out, "java/lang/Object");									// 3
+			ref(out, CLASS, 3);												// 4
+			utf8(out, Injector.class.getName().replace('.', '/'));			// 5
+			ref(out, CLASS, 5);												// 6
+			utf8(out, "HANDLE");											// 7
+			utf8(out, "Ljava/lang/invoke/MethodHandle;");					// 8
+			ref(out, NAME_AND_TYPE, 7, 8);									// 9
+			ref(out, FIELD_REF, 2, 9);										// 10
+			utf8(out, "<init>");											// 11
+			utf8(out, "()V");												// 12
+			ref(out, NAME_AND_TYPE, 11, 12);								// 13
+			ref(out, METHOD_REF, 4, 13);									// 14
+			utf8(out, "java/lang/invoke/MethodHandles");					// 15
+			ref(out, CLASS, 15);											// 16
+			utf8(out, "lookup");											// 17
+			utf8(out, "()Ljava/lang/invoke/MethodHandles$Lookup;");			// 18
+			ref(out, NAME_AND_TYPE, 17, 18);								// 19
+			ref(out, METHOD_REF, 16, 19);									// 20
+			utf8(out, "classData");											// 21
+			utf8(out, CLASS_DATA_DESCRIPTOR);								// 22
+			ref(out, NAME_AND_TYPE, 21, 22);								// 23
+			ref(out, METHOD_REF, 16, 23);									// 24
+			utf8(out, "_");													// 25
+			ref(out, STRING, 25);											// 26
+			utf8(out, "java/lang/invoke/MethodHandle");						// 27
+			ref(out, CLASS, 27);											// 28
+			utf8(out, "invokeExact");										// 29
+			utf8(out, INJECT_DESCRIPTOR);									// 30
+			ref(out, NAME_AND_TYPE, 29, 30);								// 31
+			ref(out, METHOD_REF, 28, 31);									// 32
+			utf8(out, "inject");											// 33
+			utf8(out, "<clinit>");											// 34
+			utf8(out, "Code");												// 35
+			
+			// final, super, this, super class and the interface.
+			out.writeShort(0x0030);
+			out.writeShort(2);
+			out.writeShort(4);
+			out.writeShort(1);
+			out.writeShort(6);
+			
+			// private static final MethodHandle HANDLE
+			out.writeShort(1);
+			out.writeShort(0x001A);
+			out.writeShort(7);
+			out.writeShort(8);
+			out.writeShort(0);
+			
+			out.writeShort(3);
+			method(out, 0x0000, 11, 12, 1, 1, new byte[] {
+				0x2A,								// aload_0
+				(byte) 0xB7, 0, 14,					// invokespecial Object.<init>
+				(byte) 0xB1							// return
+			});
+			method(out, 0x0008, 34, 12, 3, 0, new byte[] {
+				(byte) 0xB8, 0, 20,					// invokestatic MethodHandles.lookup
+				0x12, 26,							// ldc "_"
+				0x12, 28,							// ldc MethodHandle.class
+				(byte) 0xB8, 0, 24,					// invokestatic MethodHandles.classData
+				(byte) 0xC0, 0, 28,					// checkcast MethodHandle
+				(byte) 0xB3, 0, 10,					// putstatic HANDLE
+				(byte) 0xB1							// return
+			});
+			method(out, 0x0001, 33, 30, 4, 4, new byte[] {
+				(byte) 0xB2, 0, 10,					// getstatic HANDLE
+				0x2B,								// aload_1
+				0x2C,								// aload_2
+				0x2D,								// aload_3
+				(byte) 0xB6, 0, 32,					// invokevirtual MethodHandle.invokeExact
+				(byte) 0xAC							// ireturn
+			});
+			
+			out.writeShort(0);
+		}
+		catch (IOException e)
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+		return buffer.toByteArray();
+	}
+	
+	private static void utf8(DataOutputStream out, String value) throws IOException
+	{
+		out.writeByte(UTF8);
+		out.writeUTF(value);
+	}
+	
+	private static void ref(DataOutputStream out, int tag, int... indices) throws IOException
+	{
+		out.writeByte(tag);
+		for (final var index : indices)
+			out.writeShort(index);
+	}
+	
+	private static void method(
+		DataOutputStream out,
+		int access,
+		int name,
+		int descriptor,
+		int maxStack,
+		int maxLocals,
+		byte[] code) throws IOException
+	{
+		out.writeShort(access);
+		out.writeShort(name);
+		out.writeShort(descriptor);
+		out.writeShort(1);
+		
+		out.writeShort(35);
+		out.writeInt(12 + code.length);
+		out.writeShort(maxStack);
+		out.writeShort(maxLocals);
+		out.writeInt(code.length);
+		out.write(code);
+		out.writeShort(0);
+		out.writeShort(0);
+	}
+}
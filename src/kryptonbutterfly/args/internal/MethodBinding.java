@@ -0,0 +1,99 @@
+package kryptonbutterfly.args.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.TypeParser;
+
+final class MethodBinding extends HandleBinding
+{
+	private final Method			method;
+	private final Class<?>[]		paramTypes;
+	private final TypeParser<?>[]	parsers;
+	
+	MethodBinding(int ordinal, Argument argument, Method method, ParserResolver resolver)
+	{
+		this(ordinal, argument, method, parsers(method, resolver));
+	}
+	
+	private MethodBinding(int ordinal, Argument argument, Method method, TypeParser<?>[] parsers)
+	{
+		super(ordinal, argument, link(method, parsers));
+		this.method		= method;
+		this.paramTypes	= method.getParameterTypes();
+		this.parsers	= parsers;
+	}
+	
+	@Override
+	boolean inject(Object target, String arrayDelimiter, Iterator<String> iterator)
+	{
+		checkParsers();
+		final var parameter = new Object[paramTypes.length];
+		for (int i = 0; i < paramTypes.length; i++)
+			parameter[i] = parsers[i].parse(arrayDelimiter, iterator);
+		
+		try
+		{
+			method.invoke(target, parameter);
+			return true;
+		}
+		catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e)
+		{
+			e.printStackTrace();
+		}
+		return false;
+	}
+	
+	@Override
+	void checkParsers()
+	{
+		for (int i = 0; i < paramTypes.length; i++)
+			if (parsers[i] == null)
+				throw missingParser(paramTypes[i]).get();
+	}
+	
+	@Override
+	boolean isSwitch()
+	{
+		return paramTypes.length == 0;
+	}
+	
+	@Override
+	Class<?>[] types()
+	{
+		return paramTypes.clone();
+	}
+	
+	private static TypeParser<?>[] parsers(Method method, ParserResolver resolver)
+	{
+		final var genericTypes	= method.getGenericParameterTypes();
+		final var parsers		= new TypeParser<?>[genericTypes.length];
+		for (int i = 0; i < genericTypes.length; i++)
+			parsers[i] = resolver.resolve(genericTypes[i]);
+		return parsers;
+	}
+	
+	/**
+	 * @return A handle of the type (Object, String, Iterator)boolean.
+	 */
+	private static MethodHandle link(Method method, TypeParser<?>[] parsers)
+	{
+		method.setAccessible(true);
+		final var paramTypes = method.getParameterTypes();
+		try
+		{
+			final var handles = new MethodHandle[paramTypes.length];
+			for (int i = 0; i < paramTypes.length; i++)
+				handles[i] = parse(parsers[i], paramTypes[i]);
+			return link(receiver(MethodHandles.lookup().unreflect(method), method), handles);
+		}
+		catch (IllegalAccessException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package kryptonbutterfly.args.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A trie from names to values, that is queried with a region of a token instead
+ * of a String. This way a token can be resolved without copying its name out of
+ * it first.
+ * <p>
+ * Besides exact matches it can resolve unambiguous prefixes of the names. Which
+ * prefixes are unambiguous is decided once by {@link #compile()}, so a lookup
+ * never has to look further than the node the token ends in.
+ * </p>
+ */
+final class NameTrie
+{
+	/**
+	 * The value of names that aren't in the trie.
+	 */
+	static final int	NONE		= -1;
+	/**
+	 * The value of prefixes shared by names with different values.
+	 */
+	static final int	AMBIGUOUS	= Integer.MIN_VALUE;
+	
+	private final Node		root	= new Node();
+	private final boolean	abbreviations;
+	
+	/**
+	 * @param abbreviations
+	 *            Whether unambiguous prefixes resolve to the value of the names
+	 *            they are a prefix of.
+	 */
+	NameTrie(boolean abbreviations)
+	{
+		this.abbreviations = abbreviations;
+	}
+	
+	/**
+	 * Adds {@code name}, unless it was already added.
+	 * 
+	 * @param value
+	 *            Any value but {@link #NONE} and {@link #AMBIGUOUS}.
+	 */
+	void put(String name, int value)
+	{
+		var node = root;
+		for (int i = 0; i < name.length(); i++)
+			node = node.childOrCreate(name.charAt(i));
+		if (node.value == NONE)
+		{
+			node.value	= value;
+			node.name	= name;
+		}
+	}
+	
+	/**
+	 * Decides for every prefix whether it is unambiguous. Has to be called after
+	 * the last {@link #put(String, int)}.
+	 */
+	NameTrie compile()
+	{
+		compile(root);
+		return this;
+	}
+	
+	private static int compile(Node node)
+	{
+		var unique = node.value;
+		for (final var child : node.children)
+		{
+			final var value = compile(child);
+			if (value == NONE || value == unique)
+				continue;
+			unique = unique == NONE ? value : AMBIGUOUS;
+		}
+		return node.unique = unique;
+	}
+	
+	/**
+	 * @param token
+	 *            The token containing the name.
+	 * @param offset
+	 *            The index in {@code token} the name starts at. The name ends with
+	 *            the token.
+	 * @return The value of the name, {@link #NONE} if it is unknown or
+	 *         {@link #AMBIGUOUS} if it is an abbreviation of names with different
+	 *         values.
+	 */
+	int get(String token, int offset)
+	{
+		final var node = node(token, offset);
+		if (node == null)
+			return NONE;
+		if (node.value != NONE || !abbreviations || node == root)
+			return node.value;
+		return node.unique;
+	}
+	
+	/**
+	 * @return All names starting with the name at the end of {@code token}, in
+	 *         lexicographic order.
+	 */
+	List<String> candidates(String token, int offset)
+	{
+		final var	names	= new ArrayList<String>();
+		final var	node	= node(token, offset);
+		if (node != null)
+			collect(node, names);
+		return names;
+	}
+	
+	private static void collect(Node node, List<String> names)
+	{
+		if (node.name != null)
+			names.add(node.name);
+		for (final var child : node.children)
+			collect(child, names);
+	}
+	
+	private Node node(String token, int offset)
+	{
+		var node = root;
+		for (int i = offset; node != null && i < token.length(); i++)
+			node = node.child(token.charAt(i));
+		return node;
+	}
+	
+	private static final class Node
+	{
+		private char[]	labels		= {};
+		private Node[]	children	= {};
+		private int		value		= NONE;
+		private String	name		= null;
+		private int		unique		= NONE;
+		
+		private Node child(char label)
+		{
+			final var index = Arrays.binarySearch(labels, label);
+			return index < 0 ? null : children[index];
+		}
+		
+		private Node childOrCreate(char label)
+		{
+			final var index = Arrays.binarySearch(labels, label);
+			if (index >= 0)
+				return children[index];
+			
+			final var	insert	= -index - 1;
+			final var	child	= new Node();
+			labels		= insert(labels, insert, label);
+			children	= insert(children, insert, child);
+			return child;
+		}
+		
+		private static char[] insert(char[] array, int index, char element)
+		{
+			final var result = Arrays.copyOf(array, array.length + 1);
+			System.arraycopy(array, index, result, index + 1, array.length - index);
+			result[index] = element;
+			return result;
+		}
+		
+		private static Node[] insert(Node[] array, int index, Node element)
+		{
+			final var result = Arrays.copyOf(array, array.length + 1);
+			System.arraycopy(array, index, result, index + 1, array.length - index);
+			result[index] = element;
+			return result;
+		}
+	}
+}
@@ -0,0 +1,317 @@
+package kryptonbutterfly.args.internal;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import kryptonbutterfly.args.Lazy;
+import kryptonbutterfly.args.TypeParser;
+import kryptonbutterfly.args.WindowParser;
+
+/**
+ * Resolves the parser of a type from a parser registry. Besides exactly
+ * registered types it resolves
+ * <ul>
+ * <li>enums by their constant names,</li>
+ * <li>arrays whose component type can be resolved, with the elements separated
+ * by the array delimiter,</li>
+ * <li>types that exactly one registered type is assignable to, like
+ * {@link CharSequence} to {@link String},</li>
+ * <li>types with a registered superclass or interface. The parsed values are
+ * checked to be instances of the type.</li>
+ * </ul>
+ * Generic types are resolved by their erasure, except for {@link Lazy Lazy<T>}
+ * and {@link Supplier Supplier<T>}, which resolve to a parser capturing a
+ * single token for the parser of {@code T}. Every resolution is memoized, so
+ * after the first lookup of a type resolving it is a single {@link ClassValue}
+ * read.
+ */
+public final class ParserResolver
+{
+	private static final TypeParser<?> MISSING = (d, v) -> {
+		throw new IllegalStateException();
+	};
+	
+	/**
+	 * The default parsers or an empty map.
+	 */
+	private final Map<Class<?>, TypeParser<?>>	defaults;
+	private final Map<Class<?>, TypeParser<?>>	registry;
+	private final ClassValue<TypeParser<?>>		resolved;
+	/**
+	 * The parsers of {@code Lazy<T>} by {@code T}.
+	 */
+	private final ClassValue<TypeParser<?>>		lazy;
+	
+	/**
+	 * @param registry
+	 *            The registered parsers, which must not be modified afterwards.
+	 */
+	public ParserResolver(Map<Class<?>, TypeParser<?>> registry)
+	{
+		this(Map.of(), registry);
+	}
+	
+	ParserResolver(Map<Class<?>, TypeParser<?>> defaults, Map<Class<?>, TypeParser<?>> registry)
+	{
+		this.defaults	= defaults;
+		this.registry	= registry;
+		this.resolved	= new ClassValue<>()
+		{
+			@Override
+			protected TypeParser<?> computeValue(Class<?> type)
+			{
+				final var parser = compute(type);
+				return parser == null ? MISSING : parser;
+			}
+		};
+		this.lazy		= new ClassValue<>()
+		{
+			@Override
+			protected TypeParser<?> computeValue(Class<?> type)
+			{
+				final var parser = resolve(type);
+				return parser == null ? MISSING : lazyParser(parser);
+			}
+		};
+	}
+	
+	/**
+	 * @return The resolver of the default parsers, which is shared by all parsers
+	 *         without added parsers.
+	 */
+	public static ParserResolver defaults()
+	{
+		return DefaultParsers.RESOLVER;
+	}
+	
+	/**
+	 * @param registry
+	 *            The parsers added on top of the default parsers, which must not be
+	 *            modified afterwards.
+	 * @return A resolver of the default parsers and {@code registry}. Only
+	 *         {@code registry} is referenced, the default parsers aren't copied.
+	 */
+	public static ParserResolver withDefaults(Map<Class<?>, TypeParser<?>> registry)
+	{
+		return registry.isEmpty() ? defaults() : new ParserResolver(DefaultParsers.REGISTRY, registry);
+	}
+	
+	/**
+	 * @return The registered parsers, without the default parsers.
+	 */
+	public Map<Class<?>, TypeParser<?>> registry()
+	{
+		return registry;
+	}
+	
+	/**
+	 * @return Whether a parser is registered for exactly {@code type}, including
+	 *         the default parsers.
+	 */
+	public boolean isRegistered(Class<?> type)
+	{
+		return registered(type) != null;
+	}
+	
+	private TypeParser<?> registered(Class<?> type)
+	{
+		final var parser = registry.get(type);
+		return parser != null ? parser : defaults.get(type);
+	}
+	
+	/**
+	 * @return The parser for {@code type} or null if there is none.
+	 */
+	public TypeParser<?> resolve(Class<?> type)
+	{
+		final var parser = resolved.get(type);
+		return parser == MISSING ? null : parser;
+	}
+	
+	/**
+	 * @param type
+	 *            The generic type of a field or parameter.
+	 * @return The parser for {@code type} or null if there is none.
+	 */
+	public TypeParser<?> resolve(Type type)
+	{
+		if (type instanceof Class<?> c)
+			return resolve(c);
+		
+		if (type instanceof ParameterizedType p && (p.getRawType() == Lazy.class || p.getRawType() == Supplier.class))
+		{
+			final var parser = lazy.get(erasure(p.getActualTypeArguments()[0]));
+			return parser == MISSING ? null : parser;
+		}
+		return resolve(erasure(type));
+	}
+	
+	/**
+	 * @return The class whose parser {@code type} is parsed with in the end,
+	 *         without arrays and {@link Lazy} or {@link Supplier} around it.
+	 */
+	static Class<?> elementType(Type type)
+	{
+		if (type instanceof ParameterizedType p && (p.getRawType() == Lazy.class || p.getRawType() == Supplier.class))
+			return elementType(p.getActualTypeArguments()[0]);
+		
+		var element = erasure(type);
+		while (element.isArray())
+			element = element.getComponentType();
+		return element;
+	}
+	
+	private static Class<?> erasure(Type type)
+	{
+		if (type instanceof Class<?> c)
+			return c;
+		if (type instanceof ParameterizedType p)
+			return erasure(p.getRawType());
+		if (type instanceof GenericArrayType a)
+			return erasure(a.getGenericComponentType()).arrayType();
+		if (type instanceof TypeVariable<?> v)
+			return erasure(v.getBounds()[0]);
+		if (type instanceof WildcardType w)
+			return erasure(w.getUpperBounds()[0]);
+		return Object.class;
+	}
+	
+	private TypeParser<?> compute(Class<?> type)
+	{
+		final var registered = registered(type);
+		if (registered != null)
+			return registered;
+		
+		if (type.isEnum())
+			return enumParser(type);
+		
+		if (type.isArray())
+		{
+			final var component = resolve(type.getComponentType());
+			return component == null ? null : arrayParser(type.getComponentType(), component);
+		}
+		
+		if (type.isPrimitive())
+			return null;
+		
+		final var subtype = subtypeParser(type);
+		if (subtype != null)
+			return subtype;
+		
+		return supertypeParser(type);
+	}
+	
+	/**
+	 * @return The parser of the only registered type assignable to {@code type}
+	 *         or null if there are none or several.
+	 */
+	private TypeParser<?> subtypeParser(Class<?> type)
+	{
+		TypeParser<?> subtype = null;
+		for (final var layer : List.of(registry, defaults))
+			for (final var entry : layer.entrySet())
+			{
+				if (!type.isAssignableFrom(entry.getKey()) || layer == defaults && registry.containsKey(entry.getKey()))
+					continue;
+				if (subtype != null)
+					return null;
+				subtype = entry.getValue();
+			}
+		return subtype;
+	}
+	
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static TypeParser<?> enumParser(Class<?> type)
+	{
+		final var enumType = (Class<? extends Enum>) type;
+		return (WindowParser<?>) (d, s, o, l) -> Enum.valueOf(enumType, s.subSequence(o, o + l).toString());
+	}
+	
+	private static TypeParser<?> lazyParser(TypeParser<?> parser)
+	{
+		return (d, v) -> {
+			// without a token the parser decides right away, like for an eager value.
+			if (!v.hasNext())
+				return Lazy.value(parser.parse(d, v));
+			
+			final var token = v.next();
+			return Lazy.of(() -> parser.parse(d, List.of(token).iterator()));
+		};
+	}
+	
+	/**
+	 * Elements of {@link WindowParser}s are parsed from their windows of the
+	 * token, all others are split into Strings first.
+	 */
+	private static TypeParser<?> arrayParser(Class<?> component, TypeParser<?> parser)
+	{
+		if (parser instanceof WindowParser<?> window)
+			return (d, v) -> {
+				if (!v.hasNext())
+					return Array.newInstance(component, 0);
+				return ArrayParsers.windows(v.next(), d, component, window);
+			};
+		
+		return (d, v) -> {
+			if (!v.hasNext())
+				return Array.newInstance(component, 0);
+			
+			final var	elements	= v.next().split(d);
+			final var	array		= Array.newInstance(component, elements.length);
+			for (int i = 0; i < elements.length; i++)
+				Array.set(array, i, parser.parse(d, List.of(elements[i]).iterator()));
+			return array;
+		};
+	}
+	
+	/**
+	 * Walks the superclasses and interfaces of {@code type}, nearest first. The
+	 * values of the found parser are checked to be instances of {@code type}.
+	 */
+	private TypeParser<?> supertypeParser(Class<?> type)
+	{
+		final var	queue	= new ArrayDeque<Class<?>>();
+		final var	seen	= new HashSet<Class<?>>();
+		queue.add(type);
+		while (!queue.isEmpty())
+		{
+			final var current = queue.poll();
+			if (current != type && current != Object.class)
+			{
+				final var parser = registered(current);
+				if (parser != null)
+					return (d, v) -> checked(type, current, parser.parse(d, v));
+			}
+			
+			if (current.getSuperclass() != null && seen.add(current.getSuperclass()))
+				queue.add(current.getSuperclass());
+			for (final var iface : current.getInterfaces())
+				if (seen.add(iface))
+					queue.add(iface);
+		}
+		return null;
+	}
+	
+	/**
+	 * @throws IllegalArgumentException
+	 *             if {@code value} isn't an instance of {@code type}, which is
+	 *             reported like any other failed conversion.
+	 */
+	private static Object checked(Class<?> type, Class<?> supertype, Object value)
+	{
+		if (value == null || type.isInstance(value))
+			return value;
+		throw new IllegalArgumentException(
+			"The parser of %s returned a %s, which isn't a %s!"
+				.formatted(supertype.getName(), value.getClass().getName(), type.getName()));
+	}
+}
@@ -0,0 +1,55 @@
+package kryptonbutterfly.args.internal;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Iterator;
+
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.Injection;
+import kryptonbutterfly.args.TypeParser;
+
+/**
+ * A component of a record, which collects its value in the array later passed
+ * to the {@link RecordConstructor}. The {@link Injection} engine has no effect
+ * on it.
+ */
+final class RecordBinding extends Binding
+{
+	private final RecordComponent	component;
+	private final int				index;
+	private final TypeParser<?>		parser;
+	
+	RecordBinding(int ordinal, Argument argument, RecordComponent component, int index, ParserResolver parsers)
+	{
+		super(ordinal, argument);
+		this.component	= component;
+		this.index		= index;
+		this.parser		= parsers.resolve(component.getGenericType());
+	}
+	
+	@Override
+	boolean inject(Object target, String arrayDelimiter, Iterator<String> iterator)
+	{
+		checkParsers();
+		((Object[]) target)[index] = isSwitch() ? Boolean.TRUE : parser.parse(arrayDelimiter, iterator);
+		return true;
+	}
+	
+	@Override
+	void checkParsers()
+	{
+		if (parser == null && !isSwitch())
+			throw missingParser(component.getGenericType()).get();
+	}
+	
+	@Override
+	boolean isSwitch()
+	{
+		return component.getType() == boolean.class;
+	}
+	
+	@Override
+	Class<?>[] types()
+	{
+		return new Class<?>[] { component.getType() };
+	}
+}
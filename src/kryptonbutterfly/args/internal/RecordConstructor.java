@@ -0,0 +1,122 @@
+package kryptonbutterfly.args.internal;
+
+import static java.lang.invoke.MethodType.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+
+import kryptonbutterfly.args.Default;
+import kryptonbutterfly.args.TypeParser;
+
+/**
+ * The canonical constructor of a record implementing
+ * {@link kryptonbutterfly.args.IArgs}. The values of the components are
+ * collected in an array while parsing and passed to the constructor once at
+ * the end, so the record is immutable and safely publishable.
+ */
+final class RecordConstructor
+{
+	/**
+	 * The value of components that weren't supplied.
+	 */
+	private static final Object UNSET = new Object();
+	
+	/**
+	 * (Object[])Object
+	 */
+	private final MethodHandle		canonical;
+	private final Type[]			types;
+	private final Object[]			zeros;
+	private final String[][]		defaults;
+	private final TypeParser<?>[]	parsers;
+	
+	RecordConstructor(Class<?> type, RecordComponent[] components, ParserResolver parsers)
+	{
+		final var rawTypes = new Class<?>[components.length];
+		this.types		= new Type[components.length];
+		this.zeros		= new Object[components.length];
+		this.defaults	= new String[components.length][];
+		this.parsers	= new TypeParser<?>[components.length];
+		for (int i = 0; i < components.length; i++)
+		{
+			rawTypes[i]	= components[i].getType();
+			types[i]	= components[i].getGenericType();
+			if (rawTypes[i].isPrimitive())
+				zeros[i] = Array.get(Array.newInstance(rawTypes[i], 1), 0);
+			
+			final var value = components[i].getAnnotation(Default.class);
+			if (value != null)
+			{
+				defaults[i]		= value.value();
+				this.parsers[i]	= parsers.resolve(types[i]);
+			}
+		}
+		
+		try
+		{
+			final var constructor = type.getDeclaredConstructor(rawTypes);
+			constructor.setAccessible(true);
+			this.canonical = MethodHandles.lookup()
+				.unreflectConstructor(constructor)
+				.asSpreader(Object[].class, components.length)
+				.asType(methodType(Object.class, Object[].class));
+		}
+		catch (NoSuchMethodException | IllegalAccessException e)
+		{
+			throw new IllegalStateException("Unable to link the canonical constructor of %s!".formatted(type), e);
+		}
+	}
+	
+	/**
+	 * @return A new array to collect the values of the components in.
+	 */
+	Object[] values()
+	{
+		final var values = new Object[types.length];
+		Arrays.fill(values, UNSET);
+		return values;
+	}
+	
+	/**
+	 * Fills in the defaults of the components that weren't supplied and calls
+	 * the canonical constructor.
+	 * 
+	 * @param values
+	 *            An array returned by {@link #values()}.
+	 * @throws java.util.NoSuchElementException
+	 *             if there is no parser for the type of a {@link Default}.
+	 */
+	Object construct(Object[] values, String arrayDelimiter)
+	{
+		for (int i = 0; i < values.length; i++)
+			if (values[i] == UNSET)
+				values[i] = defaultValue(i, arrayDelimiter);
+		
+		try
+		{
+			return canonical.invokeExact(values);
+		}
+		catch (RuntimeException | Error e)
+		{
+			throw e;
+		}
+		catch (Throwable t)
+		{
+			throw new IllegalStateException(t);
+		}
+	}
+	
+	private Object defaultValue(int component, String arrayDelimiter)
+	{
+		if (defaults[component] == null)
+			return zeros[component];
+		if (parsers[component] == null)
+			throw Binding.missingParser(types[component]).get();
+		return parsers[component].parse(arrayDelimiter, List.of(defaults[component]).iterator());
+	}
+}
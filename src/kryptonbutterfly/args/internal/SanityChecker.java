@@ -3,38 +3,99 @@ package kryptonbutterfly.args.internal;
 import static kryptonbutterfly.math.utils.range.Range.*;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.Objects;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import kryptonbutterfly.args.ArgsProperties;
 import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.Default;
+import kryptonbutterfly.args.Flag;
 import kryptonbutterfly.args.IArgs;
-import kryptonbutterfly.args.TypeParser;
 
-public final class SanityChecker<Args extends IArgs>
+public final class SanityChecker
 {
-	private final Args								target;
-	private final String							idPrefix;
-	private final HashMap<Class<?>, TypeParser<?>>	typeParser;
+	private final Class<?>			type;
+	private final String			idPrefix;
+	private final ParserResolver	parsers;
+	/**
+	 * The names of the types that count as parseable without a parser.
+	 */
+	private final Set<String>		declared;
 	
-	private final ArrayList<String>		issues		= new ArrayList<>();
-	private final ArrayList<Argument>	required	= new ArrayList<>();
-	private final ArrayList<Argument>	allArgs		= new ArrayList<>();
+	private final ArrayList<String>					issues	= new ArrayList<>();
+	private final ArrayList<ConstraintGraph.Node>	allArgs	= new ArrayList<>();
 	
-	private SanityChecker(HashMap<Class<?>, TypeParser<?>> typeParser, String idPrefix, Args target)
+	private SanityChecker(ParserResolver parsers, Set<String> declared, String idPrefix, Class<?> type)
 	{
-		this.typeParser	= typeParser;
-		this.target		= target;
+		this.parsers	= parsers;
+		this.declared	= declared;
+		this.type		= type;
 		this.idPrefix	= idPrefix;
 	}
 	
-	public static <Args extends IArgs> void check(
-		HashMap<Class<?>, TypeParser<?>> typeParser,
-		String idPrefix,
-		Args target)
+	public static void check(ParserResolver parsers, String idPrefix, Class<?> type)
 	{
-		new SanityChecker<>(typeParser, idPrefix, target).check();
+		verdict(parsers, idPrefix, type).enforce();
+	}
+	
+	/**
+	 * Checks {@code type} without throwing. The verdict depends only on the class
+	 * and the parsers, no instance is created or read, so it holds for every
+	 * instance of {@code type}.
+	 */
+	public static Verdict verdict(ParserResolver parsers, String idPrefix, Class<?> type)
+	{
+		return verdict(parsers, Set.of(), idPrefix, type);
+	}
+	
+	/**
+	 * Like {@link #verdict(ParserResolver, String, Class)}, but the types named
+	 * in {@code declared} count as parseable, as do arrays and lazy values of
+	 * them. This checks against parsers that are registered only at runtime.
+	 * 
+	 * @param declared
+	 *            Fully qualified class names.
+	 */
+	public static Verdict verdict(ParserResolver parsers, Set<String> declared, String idPrefix, Class<?> type)
+	{
+		final var checker = new SanityChecker(parsers, declared, idPrefix, type);
+		try
+		{
+			checker.check();
+		}
+		catch (MissingParserException e)
+		{
+			return new Verdict(List.of(), e.getMessage());
+		}
+		return new Verdict(List.copyOf(checker.issues), null);
+	}
+	
+	/**
+	 * Checks the default values of {@code target}, which field initializers and
+	 * constructors may set differently for every instance. These issues are never
+	 * part of a cached {@link Verdict}.
+	 * 
+	 * @return The issues found.
+	 */
+	public static List<String> defaults(String idPrefix, IArgs target)
+	{
+		final var checker = new SanityChecker(null, Set.of(), idPrefix, target.getClass());
+		for (final var field : target.getClass().getDeclaredFields())
+		{
+			if (field.isAnnotationPresent(Argument.class))
+				checker.checkBooleanArg(field, target);
+			
+			final var flags = field.getAnnotationsByType(Flag.class);
+			if (flags.length > 0 && !field.isAnnotationPresent(Argument.class))
+				checker.checkDefaultBits(field, flags, target);
+		}
+		return List.copyOf(checker.issues);
 	}
 	
 	private void check()
@@ -42,59 +103,35 @@ public final class SanityChecker<Args extends IArgs>
 		checkHasProperties();
 		checkHasNecessaryParsers();
 		
-		for (final var field : target.getClass().getDeclaredFields())
+		for (final var field : type.getDeclaredFields())
 		{
 			if (field.isAnnotationPresent(Argument.class))
+				allArgs.add(ConstraintGraph.Node.of(field.getAnnotation(Argument.class)));
+			
+			final var flags = field.getAnnotationsByType(Flag.class);
+			if (flags.length > 0 && type.isRecord())
+				addIssue("The record component %s can't hold flags.", field.getName());
+			else if (flags.length > 0)
 			{
-				final var annotation = field.getAnnotation(Argument.class);
-				allArgs.add(annotation);
-				if (annotation.isRequired())
-				{
-					required.add(annotation);
-					checkRequiredExcludes(annotation);
-				}
-				checkBooleanArg(field);
-				checkContradictoryRequirement(annotation);
+				for (final var flag : flags)
+					allArgs.add(ConstraintGraph.Node.of(flag));
+				checkFlags(field, flags);
 			}
 		}
 		
-		for (final var method : target.getClass().getDeclaredMethods())
-		{
-			if (method.isAnnotationPresent(Argument.class))
-			{
-				final var annotation = method.getAnnotation(Argument.class);
-				allArgs.add(annotation);
-				if (annotation.isRequired())
-				{
-					required.add(annotation);
-					checkRequiredExcludes(annotation);
-				}
+		if (type.isRecord())
+			for (final var component : type.getRecordComponents())
+				checkBooleanDefault(component);
+		// the accessors of records carry the annotations of their components.
+		else
+			for (final var method : type.getDeclaredMethods())
+				if (method.isAnnotationPresent(Argument.class))
+					allArgs.add(ConstraintGraph.Node.of(method.getAnnotation(Argument.class)));
 				
-				checkContradictoryRequirement(annotation);
-			}
-		}
-		
-		checkDirectContradiction();
-		
-		/*
-		 * TODO analyze if there are contradictory requirements and exclusions.
-		 */
-		
-		if (!issues.isEmpty())
-			throw new SanityException(issues);
-	}
-	
-	private void checkRequiredExcludes(Argument annotation)
-	{
-		if (annotation.excludes().length > 0)
-			addIssue(
-				"The required argument %s%s excludes the arguments %s and makes them unusable.",
-				idPrefix,
-				annotation.name(),
-				concat(idPrefix, ", ", " & ", annotation.excludes()));
+		issues.addAll(new ConstraintGraph(idPrefix, allArgs).contradictions());
 	}
 	
-	private void checkBooleanArg(Field field)
+	private void checkBooleanArg(Field field, Object target)
 	{
 		try
 		{
@@ -104,11 +141,7 @@ public final class SanityChecker<Args extends IArgs>
 				return;
 			if (!field.getBoolean(target))
 				return;
-			addIssue(
-				"The field %s should not be default initialized with %b, since this makes it impossible for it's value to ever be %b.",
-				field.getName(),
-				true,
-				false);
+			addBooleanIssue(field.getName());
 		}
 		catch (IllegalArgumentException | IllegalAccessException e)
 		{
@@ -116,66 +149,113 @@ public final class SanityChecker<Args extends IArgs>
 		}
 	}
 	
-	private void checkContradictoryRequirement(Argument annotation)
+	private void checkBooleanDefault(RecordComponent component)
 	{
-		for (final var required : annotation.requires())
-			for (final var excluded : annotation.excludes())
-				if (Objects.equals(required, excluded))
-					addIssue(
-						"The argument %s%s requires and excludes %s%s!",
-						idPrefix,
-						annotation.name(),
-						idPrefix,
-						required);
+		final var value = component.getAnnotation(Default.class);
+		if (component.getType() != boolean.class || value == null)
+			return;
+		if (value.value().length == 1 && Boolean.parseBoolean(value.value()[0]))
+			addBooleanIssue(component.getName());
 	}
 	
-	private void checkDirectContradiction()
+	private void addBooleanIssue(String name)
 	{
-		for (final var arg : allArgs)
-			for (final var excluded : arg.excludes())
-				for (final var req : required)
-					if (Objects.equals(req.name(), excluded))
-						addIssue(
-							"The argument %s%s excludes the required argument %s%s. This makes %s%s unusable.",
-							idPrefix,
-							arg.name(),
-							idPrefix,
-							excluded,
-							idPrefix,
-							arg.name());
-					
+		addIssue(
+			"The field %s should not be default initialized with %b, since this makes it impossible for it's value to ever be %b.",
+			name,
+			true,
+			false);
+	}
+	
+	/**
+	 * The type of the field and the range of the bits are validated when the
+	 * {@link ArgsSchema} is compiled.
+	 */
+	private void checkFlags(Field field, Flag[] flags)
+	{
+		if (field.isAnnotationPresent(Argument.class))
+			addIssue("The field %s can't be an argument and hold flags at the same time.", field.getName());
+		
+		final var bits = new HashMap<Integer, Flag>();
+		for (final var flag : flags)
+		{
+			final var other = bits.putIfAbsent(flag.bit(), flag);
+			if (other != null)
+				addIssue(
+					"The flags %s share the bit %d of the field %s.",
+					concat(idPrefix, ", ", " & ", other.name(), flag.name()),
+					flag.bit(),
+					field.getName());
+		}
+	}
+	
+	private void checkDefaultBits(Field field, Flag[] flags, Object target)
+	{
+		final var	type	= field.getType();
+		final var	bits	= new HashSet<Integer>();
+		for (final var flag : flags)
+		{
+			final var bit = flag.bit();
+			if (bit < 0 || type == long.class && bit >= Long.SIZE || !bits.add(bit))
+				continue;
+			if (isSet(field, bit, target))
+				addIssue(
+					"The field %s should not be default initialized with the bit %d of the flag %s%s set, since this makes it impossible for the flag to ever be unset.",
+					field.getName(),
+					bit,
+					idPrefix,
+					flag.name());
+		}
+	}
+	
+	private boolean isSet(Field field, int bit, Object target)
+	{
+		try
+		{
+			field.setAccessible(true);
+			final var value = field.get(target);
+			if (value instanceof Long word)
+				return (word & 1L << bit) != 0;
+			if (value instanceof long[] words)
+				return bit >>> 6 < words.length && Bits.get(words, bit);
+			return value instanceof BitSet set && set.get(bit);
+		}
+		catch (IllegalArgumentException | IllegalAccessException e)
+		{
+			throw new RuntimeException(e);
+		}
 	}
 	
 	private void checkHasProperties()
 	{
-		if (!target.getClass().isAnnotationPresent(ArgsProperties.class))
+		if (!type.isAnnotationPresent(ArgsProperties.class))
 			System.err.printf(
 				"%s should be annotated with @%s!\n\n",
-				target.getClass().getName(),
+				type.getName(),
 				ArgsProperties.class.getSimpleName());
 	}
 	
 	private void checkHasNecessaryParsers()
 	{
-		for (final var field : target.getClass().getDeclaredFields())
+		for (final var field : type.getDeclaredFields())
 			if (field.isAnnotationPresent(Argument.class))
-				checkHasParser(field.getType());
+				checkHasParser(field.getGenericType());
 			
-		for (final var method : target.getClass().getDeclaredMethods())
+		for (final var method : type.getDeclaredMethods())
 			if (method.isAnnotationPresent(Argument.class))
-				for (final var param : method.getParameterTypes())
+				for (final var param : method.getGenericParameterTypes())
 					checkHasParser(param);
 	}
 	
-	private void checkHasParser(Class<?> type)
+	private void checkHasParser(Type type)
 	{
-		if (!typeParser.containsKey(type))
+		if (parsers.resolve(type) == null && !declared.contains(ParserResolver.elementType(type).getName()))
 			throw new MissingParserException(
 				"Missing parser for type %s!",
-				type.getName());
+				type.getTypeName());
 	}
 	
-	private static String concat(String idPrefix, String delimiter, String and, String... args)
+	static String concat(String idPrefix, String delimiter, String and, String... args)
 	{
 		if (args.length == 0)
 			return "";
@@ -193,4 +273,47 @@ public final class SanityChecker<Args extends IArgs>
 	{
 		issues.add(message.formatted(args));
 	}
+	
+	/**
+	 * The outcome of a sanity check.
+	 * 
+	 * @param issues
+	 *            The issues found.
+	 * @param missingParser
+	 *            The message of the {@link MissingParserException} or null if no
+	 *            parser is missing.
+	 */
+	public static final record Verdict(List<String> issues, String missingParser)
+	{
+		public boolean passed()
+		{
+			return issues.isEmpty() && missingParser == null;
+		}
+		
+		/**
+		 * @return This verdict with {@code more} issues appended.
+		 */
+		public Verdict and(List<String> more)
+		{
+			if (more.isEmpty())
+				return this;
+			final var all = new ArrayList<>(issues);
+			all.addAll(more);
+			return new Verdict(List.copyOf(all), missingParser);
+		}
+		
+		/**
+		 * @throws MissingParserException
+		 *             if a parser is missing.
+		 * @throws SanityException
+		 *             if there are any issues.
+		 */
+		public void enforce()
+		{
+			if (missingParser != null)
+				throw new MissingParserException("%s", missingParser);
+			if (!issues.isEmpty())
+				throw new SanityException(issues);
+		}
+	}
 }
@@ -1,16 +1,16 @@
 package kryptonbutterfly.args.internal;
 
-import java.util.ArrayList;
+import java.util.List;
 
 @SuppressWarnings("serial")
 public final class SanityException extends RuntimeException
 {
-	SanityException(ArrayList<String> issues)
+	SanityException(List<String> issues)
 	{
 		super(concat(issues));
 	}
 	
-	private static String concat(ArrayList<String> issues)
+	private static String concat(List<String> issues)
 	{
 		final var sb = new StringBuilder();
 		for (final var issue : issues)
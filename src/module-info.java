@@ -6,5 +6,7 @@ module kryptonbutterfly.ArgsManager
 	requires kryptonbutterfly.Monads;
 	requires kryptonbutterfly.mathUtils;
 	
+	requires jdk.jfr;
+	
 	requires org.junit.jupiter.api;
 }
\ No newline at end of file
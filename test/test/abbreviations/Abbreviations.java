@@ -0,0 +1,67 @@
+package test.abbreviations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.Diagnostic.AmbiguousArgument;
+import kryptonbutterfly.args.Diagnostic.UnknownArgument;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class Abbreviations implements Constants
+{
+	@Test
+	public void unambiguous()
+	{
+		final String[] args = { "--verb", "--output-f", "json", "--out", "file.json" };
+		
+		final var result = parser().parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertTrue(result.verbose);
+		assertFalse(result.version);
+		assertEquals("json", result.outputFormat);
+		assertEquals("file.json", result.out);
+	}
+	
+	@Test
+	public void ambiguous()
+	{
+		final String[] args = { "--out", "file.json", "--ver" };
+		
+		final var result = parser().tryParse(ProgramArgs::new, args);
+		assertEquals(
+			List.of(new AmbiguousArgument("--ver", 2, List.of("--verbose", "--version"))),
+			result.diagnostics());
+	}
+	
+	@Test
+	public void help()
+	{
+		final String[] args = { "---he" };
+		
+		final var result = parser().tryParse(ProgramArgs::new, args);
+		assertTrue(result.isSuccess());
+		assertTrue(result.helpRequested());
+	}
+	
+	@Test
+	public void disabled()
+	{
+		final String[] args = { "-u", "kryptonbutterfly", "-p", "pw-1234" };
+		
+		final var result = parser().tryParse(test.valid.ProgramArgs::new, args);
+		assertEquals(List.of(new UnknownArgument("-p", 2)), result.diagnostics());
+	}
+	
+	private static ArgsParser parser()
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		return parser;
+	}
+}
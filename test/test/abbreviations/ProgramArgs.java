@@ -0,0 +1,27 @@
+package test.abbreviations;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(idPrefix = "--", abbreviations = true)
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "verbose", info = "Verbose output.")
+	public boolean verbose = false;
+	
+	@Argument(name = "version", info = "Print the version.")
+	public boolean version = false;
+	
+	@Argument(name = "out", info = "The output file.")
+	public String out = null;
+	
+	@Argument(name = "output-format", info = "The format of the output file.")
+	public String outputFormat = null;
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests abbreviated arguments.";
+	}
+}
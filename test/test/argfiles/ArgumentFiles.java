@@ -0,0 +1,145 @@
+package test.argfiles;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.nio.file.StandardOpenOption.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import kryptonbutterfly.args.ArgFiles;
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.Diagnostic;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class ArgumentFiles implements Constants
+{
+	@TempDir
+	Path dir;
+	
+	@Test
+	public void quoted() throws IOException
+	{
+		final var file = Files.writeString(dir.resolve("args"), "-n 'Jane \"J\" Doe'\n\t-ids \"1;2;3\"\n", UTF_8);
+		final String[] args = { "-v", "@" + file };
+		
+		final var result = parser(ArgFiles.QUOTED).parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertTrue(result.verbose);
+		assertEquals("Jane \"J\" Doe", result.name);
+		assertArrayEquals(new int[] { 1, 2, 3 }, result.ids);
+	}
+	
+	@Test
+	public void escapes() throws IOException
+	{
+		final var file = Files.writeString(dir.resolve("args"), "-n \"a \\\"b\\\" c\\\\\" ", UTF_8);
+		final String[] args = { "@" + file };
+		
+		final var result = parser(ArgFiles.QUOTED).parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals("a \"b\" c\\", result.name);
+	}
+	
+	@Test
+	public void nul() throws IOException
+	{
+		final var file = Files.writeString(dir.resolve("args"), "-n\0\u00dcn\u00efc\u00f6d\u00e9 name\0-ids\0004;5\0", UTF_8);
+		final String[] args = { "@" + file, "-v" };
+		
+		final var result = parser(ArgFiles.NUL).parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertTrue(result.verbose);
+		assertEquals("\u00dcn\u00efc\u00f6d\u00e9 name", result.name);
+		assertArrayEquals(new int[] { 4, 5 }, result.ids);
+	}
+	
+	@Test
+	public void emptyFile() throws IOException
+	{
+		final var file = Files.writeString(dir.resolve("args"), "", UTF_8);
+		final String[] args = { "@" + file, "-n", "name" };
+		
+		final var result = parser(ArgFiles.QUOTED).parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals("name", result.name);
+	}
+	
+	@Test
+	public void disabled()
+	{
+		final String[] args = { "-n", "@name" };
+		
+		final var result = parser(ArgFiles.DISABLED).parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals("@name", result.name);
+	}
+	
+	@Test
+	public void missingFile()
+	{
+		final String[] args = { "@" + dir.resolve("missing") };
+		
+		assertThrows(UncheckedIOException.class, () -> parser(ArgFiles.QUOTED).parse(ProgramArgs::new, args));
+	}
+	
+	@Test
+	public void missingFileDiagnostic()
+	{
+		final var		token	= "@" + dir.resolve("missing");
+		final String[]	args	= { "-v", token };
+		
+		final var result = parser(ArgFiles.QUOTED).tryParse(ProgramArgs::new, args);
+		assertFalse(result.isSuccess());
+		final var error = assertInstanceOf(Diagnostic.ArgFileError.class, result.diagnostics().get(0));
+		assertEquals(token, error.token());
+		assertEquals(1, error.position());
+	}
+	
+	@Test
+	public void tooLarge() throws IOException
+	{
+		final var file = dir.resolve("large");
+		// sparse on most file systems, so nothing is written.
+		try (final var channel = FileChannel.open(file, CREATE_NEW, WRITE))
+		{
+			channel.write(ByteBuffer.wrap(new byte[] { ' ' }), Integer.MAX_VALUE);
+		}
+		
+		final var result = parser(ArgFiles.QUOTED).tryParse(ProgramArgs::new, new String[] { "@" + file });
+		assertFalse(result.isSuccess());
+		final var error = assertInstanceOf(Diagnostic.ArgFileError.class, result.diagnostics().get(0));
+		assertTrue(error.cause().getMessage().contains("at most 2147483647"));
+	}
+	
+	@Test
+	public void missingFileInBatch() throws IOException
+	{
+		final var file = Files.writeString(dir.resolve("args"), "-n name", UTF_8);
+		final List<String[]> argsList = List.of(
+			new String[] { "@" + dir.resolve("missing") },
+			new String[] { "@" + file });
+		
+		final var results = parser(ArgFiles.QUOTED).parseAll(ProgramArgs::new, argsList);
+		assertInstanceOf(Diagnostic.ArgFileError.class, results.get(0).diagnostics().get(0));
+		assertTrue(results.get(1).isSuccess());
+		assertEquals("name", results.get(1).args().name);
+	}
+	
+	private static ArgsParser parser(ArgFiles argFiles)
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.argFiles			= argFiles;
+		return parser;
+	}
+}
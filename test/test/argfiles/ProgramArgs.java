@@ -0,0 +1,24 @@
+package test.argfiles;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "v", info = "Verbose output.")
+	public boolean verbose = false;
+	
+	@Argument(name = "n", info = "The name.")
+	public String name = null;
+	
+	@Argument(name = "ids", info = "The ids to process.")
+	public int[] ids = null;
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests argument files.";
+	}
+}
@@ -0,0 +1,81 @@
+package test.arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import kryptonbutterfly.args.ArgsParser;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class PrimitiveArrays implements Constants
+{
+	@Test
+	public void allTypes()
+	{
+		final String[] args = {
+			"-l", "1;-2;9223372036854775807",
+			"-i", "+4;5",
+			"-s", "-32768;32767",
+			"-b", "127",
+			"-z", "TRUE;false;yes",
+			"-d", "1.5;-2e3",
+			"-f", "0.25" };
+		
+		final var result = parser(";").parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertArrayEquals(new long[] { 1, -2, Long.MAX_VALUE }, result.longs);
+		assertArrayEquals(new int[] { 4, 5 }, result.ints);
+		assertArrayEquals(new short[] { Short.MIN_VALUE, Short.MAX_VALUE }, result.shorts);
+		assertArrayEquals(new byte[] { 127 }, result.bytes);
+		assertArrayEquals(new boolean[] { true, false, false }, result.booleans);
+		assertArrayEquals(new double[] { 1.5, -2e3 }, result.doubles);
+		assertArrayEquals(new float[] { 0.25f }, result.floats);
+	}
+	
+	@Test
+	public void splitSemantics()
+	{
+		final String[] sources = { "", "1", "1;2", "1;2;;", ";1", "1;;2", ";;", "1;2;" };
+		for (final var delimiter : new String[] { ";", ";;", "\\;", "\\s*;\\s*" })
+			for (final var source : sources)
+			{
+				final String[] args = { "-z", source };
+				
+				final var result = parser(delimiter).parse(ProgramArgs::new, args);
+				assertNotNull(result, PARSE_UNSUCCESSFUL);
+				assertEquals(
+					Pattern.compile(delimiter).split(source).length,
+					result.booleans.length,
+					"\"%s\" split by \"%s\"".formatted(source, delimiter));
+			}
+	}
+	
+	@Test
+	public void regexDelimiter()
+	{
+		final String[] args = { "-i", "1 , 2,3" };
+		
+		final var result = parser("\\s*,\\s*").parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertArrayEquals(new int[] { 1, 2, 3 }, result.ints);
+	}
+	
+	@Test
+	public void outOfRange()
+	{
+		final String[] args = { "-b", "1;128" };
+		
+		assertThrows(NumberFormatException.class, () -> parser(";").parse(ProgramArgs::new, args));
+	}
+	
+	private static ArgsParser parser(String delimiter)
+	{
+		final var parser = new ArgsParser(delimiter);
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		return parser;
+	}
+}
@@ -0,0 +1,36 @@
+package test.arrays;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "l", info = "longs")
+	public long[] longs = null;
+	
+	@Argument(name = "i", info = "ints")
+	public int[] ints = null;
+	
+	@Argument(name = "s", info = "shorts")
+	public short[] shorts = null;
+	
+	@Argument(name = "b", info = "bytes")
+	public byte[] bytes = null;
+	
+	@Argument(name = "z", info = "booleans")
+	public boolean[] booleans = null;
+	
+	@Argument(name = "d", info = "doubles")
+	public double[] doubles = null;
+	
+	@Argument(name = "f", info = "floats")
+	public float[] floats = null;
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests primitive array arguments.";
+	}
+}
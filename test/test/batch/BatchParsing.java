@@ -0,0 +1,97 @@
+package test.batch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.Diagnostic.ConversionError;
+import kryptonbutterfly.args.Diagnostic.Exclusion;
+import kryptonbutterfly.args.Diagnostic.MissingRequired;
+import kryptonbutterfly.args.Diagnostic.UnknownArgument;
+import kryptonbutterfly.args.ImmutableArgsParser;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class BatchParsing implements Constants
+{
+	@Test
+	public void diagnostics()
+	{
+		final var argsList = List.of(
+			new String[] { "-job", "1", "-q", "gpu" },
+			new String[] { "-job", "2", "-x" },
+			new String[] { "-q", "gpu" },
+			new String[] { "-job", "4", "-q", "gpu", "-local" },
+			new String[] { "-job", "five" },
+			new String[] { "-job", "6", "-h" });
+		
+		final var results = parser().parseAll(ProgramArgs::new, argsList);
+		assertEquals(argsList.size(), results.size());
+		
+		assertTrue(results.get(0).isSuccess());
+		assertEquals(1, results.get(0).args().job);
+		assertEquals("gpu", results.get(0).args().queue);
+		
+		assertEquals(List.of(new UnknownArgument("-x", 2)), results.get(1).diagnostics());
+		assertEquals(List.of(new MissingRequired("-", "job")), results.get(2).diagnostics());
+		assertEquals(List.of(new Exclusion("-", "q", "local")), results.get(3).diagnostics());
+		
+		final var conversion = (ConversionError) results.get(4).diagnostics().get(0);
+		assertEquals("-job", conversion.token());
+		assertEquals(0, conversion.position());
+		assertInstanceOf(NumberFormatException.class, conversion.cause());
+		
+		assertTrue(results.get(5).isSuccess());
+		assertTrue(results.get(5).helpRequested());
+	}
+	
+	@Test
+	public void tryParse()
+	{
+		final String[] args = { "-local", "-job", "7", "-q", "gpu" };
+		
+		final var	bytes	= new ByteArrayOutputStream();
+		final var	parser	= parser();
+		parser.output = new PrintStream(bytes);
+		
+		final var result = parser.tryParse(ProgramArgs::new, args);
+		assertFalse(result.isSuccess());
+		assertEquals(List.of("local", "job", "q"), List.copyOf(result.keys()));
+		assertEquals(7, result.args().job);
+		assertEquals(List.of(new Exclusion("-", "q", "local")), result.diagnostics());
+		assertEquals("The argument \"-q\" and \"-local\" exclude each other!", result.diagnostics().get(0).message());
+		assertEquals(0, bytes.size());
+	}
+	
+	@Test
+	public void inputOrder()
+	{
+		final var argsList = new ArrayList<String[]>();
+		for (int i = 0; i < 20_000; i++)
+			argsList.add(new String[] { "-job", Integer.toString(i) });
+		
+		final var parser = ImmutableArgsParser.builder()
+			.terminateAction(TerminationException::terminate)
+			.build();
+		
+		final var results = parser.parseAll(ProgramArgs::new, argsList);
+		for (int i = 0; i < results.size(); i++)
+		{
+			assertTrue(results.get(i).isSuccess(), PARSE_UNSUCCESSFUL);
+			assertEquals(i, results.get(i).args().job);
+		}
+	}
+	
+	private static ArgsParser parser()
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction = TerminationException::terminate;
+		return parser;
+	}
+}
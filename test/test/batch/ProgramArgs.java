@@ -0,0 +1,24 @@
+package test.batch;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "job", info = "The job id.", isRequired = true)
+	public long job = 0;
+	
+	@Argument(name = "q", info = "The queue to submit to.", excludes = "local")
+	public String queue = null;
+	
+	@Argument(name = "local", info = "Run the job locally.")
+	public boolean local = false;
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests batch parsing.";
+	}
+}
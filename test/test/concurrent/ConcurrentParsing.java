@@ -0,0 +1,91 @@
+package test.concurrent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import kryptonbutterfly.args.ImmutableArgsParser;
+import kryptonbutterfly.args.Injection;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class ConcurrentParsing implements Constants
+{
+	private static final int	THREADS		= 16;
+	private static final int	ITERATIONS	= 2_000;
+	
+	@Test
+	public void methodHandles() throws InterruptedException, ExecutionException
+	{
+		stress(Injection.METHOD_HANDLE);
+	}
+	
+	@Test
+	public void reflection() throws InterruptedException, ExecutionException
+	{
+		stress(Injection.REFLECTION);
+	}
+	
+	@Test
+	public void frozenConfiguration()
+	{
+		final var	builder	= ImmutableArgsParser.builder().terminateAction(TerminationException::terminate);
+		final var	parser	= builder.build();
+		builder.terminateAction(status -> {});
+		
+		final String[] args = { "-ids", "1" };
+		
+		final var exception = assertThrows(TerminationException.class, () -> parser.parse(ProgramArgs::new, args));
+		assertEquals(0, exception.status, EXIT_CODE);
+	}
+	
+	private static void stress(Injection injection) throws InterruptedException, ExecutionException
+	{
+		final var parser = ImmutableArgsParser.builder()
+			.terminateAction(TerminationException::terminate)
+			.sanityCheck(true)
+			.injection(injection)
+			.build();
+		
+		final var	start	= new CountDownLatch(1);
+		final var	pool	= Executors.newFixedThreadPool(THREADS);
+		try
+		{
+			final var futures = new ArrayList<Future<?>>();
+			for (int t = 0; t < THREADS; t++)
+			{
+				final var thread = t;
+				futures.add(pool.submit(() -> {
+					start.await();
+					for (int i = 0; i < ITERATIONS; i++)
+					{
+						final var		id		= Integer.toString(thread * ITERATIONS + i);
+						final String[]	args	= { "-n", id, "-c", "host" + id, id, "-ids", id + ";" + thread };
+						
+						final var result = parser.parse(ProgramArgs::new, args);
+						assertNotNull(result, PARSE_UNSUCCESSFUL);
+						assertEquals(id, result.name);
+						assertEquals("host" + id, result.host);
+						assertEquals(Integer.parseInt(id), result.port);
+						assertArrayEquals(new long[] { Long.parseLong(id), thread }, result.ids);
+					}
+					return null;
+				}));
+			}
+			
+			start.countDown();
+			for (final var future : futures)
+				future.get();
+		}
+		finally
+		{
+			pool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package test.concurrent;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "n", info = "The name.", isRequired = true)
+	public String name = null;
+	
+	@Argument(name = "ids", info = "The ids to process.")
+	public long[] ids = null;
+	
+	public String	host	= null;
+	public int		port	= 0;
+	
+	@Argument(name = "c", info = "The host and port to connect to.", requires = "n")
+	public void connect(String host, int port)
+	{
+		this.host	= host;
+		this.port	= port;
+	}
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests concurrent parsing.";
+	}
+}
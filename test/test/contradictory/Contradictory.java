@@ -23,6 +23,21 @@ public class Contradictory implements Constants
 		assertThrows(SanityException.class, () -> parser.parse(IsRequired_Unusable::new, args));
 	}
 	
+	@Test
+	public void replayed()
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		
+		final String[] args = {};
+		
+		final var	first	= assertThrows(SanityException.class, () -> parser.parse(IsRequired_Unusable::new, args));
+		final var	second	= assertThrows(SanityException.class, () -> parser.parse(IsRequired_Unusable::new, args));
+		assertNotSame(first, second);
+		assertEquals(first.getMessage(), second.getMessage());
+	}
+	
 	@Test
 	public void contradiction()
 	{
@@ -32,7 +47,56 @@ public class Contradictory implements Constants
 		
 		final String[] args = { "-2", "value for arg2" };
 		
-		final var exception = assertThrows(TerminationException.class, () -> parser.parse(Contradiction::new, args));
-		assertEquals(0, exception.status, EXIT_CODE);
+		final var exception = assertThrows(SanityException.class, () -> parser.parse(Contradiction::new, args));
+		assertEquals(
+			"The argument -2 can never be supplied, as it implies -1, but -1 excludes -2.\n\n",
+			exception.getMessage());
+	}
+	
+	@Test
+	public void transitive()
+	{
+		final var exception = assertThrows(SanityException.class, () -> parser().parse(Transitive::new, new String[0]));
+		assertEquals(
+			"The argument --a can never be supplied, as it implies --c, but --c excludes --a.\n\n",
+			exception.getMessage());
+	}
+	
+	@Test
+	public void cycle()
+	{
+		final var exception = assertThrows(SanityException.class, () -> parser().parse(Cycle::new, new String[0]));
+		assertEquals(
+			"The arguments --a, --b & --c require each other and can never be supplied, as they imply --e, but --e excludes --b.\n\n"
+				+ "The argument --d can never be supplied, as it implies --b & --e, but --e excludes --b.\n\n",
+			exception.getMessage());
+	}
+	
+	@Test
+	public void unknownRequirement()
+	{
+		final var exception = assertThrows(
+			SanityException.class,
+			() -> parser().parse(UnknownRequirement::new, new String[0]));
+		assertEquals(
+			"The argument --a can never be supplied, as it implies --b, but --b requires the unknown argument --missing.\n\n"
+				+ "The argument --b can never be supplied, as --b requires the unknown argument --missing.\n\n",
+			exception.getMessage());
+	}
+	
+	@Test
+	public void mutualRequirement()
+	{
+		final String[] args = { "-u", "kryptonbutterfly", "-pw", "pw-1234" };
+		
+		assertNotNull(parser().parse(test.valid.ProgramArgs::new, args), PARSE_UNSUCCESSFUL);
+	}
+	
+	private static ArgsParser parser()
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		return parser;
 	}
 }
@@ -0,0 +1,30 @@
+package test.contradictory;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(idPrefix = "--")
+public class Cycle implements IArgs
+{
+	@Argument(name = "a", info = "a", requires = "b")
+	public String a = null;
+	
+	@Argument(name = "b", info = "b", requires = "c")
+	public String b = null;
+	
+	@Argument(name = "c", info = "c", requires = "a")
+	public String c = null;
+	
+	@Argument(name = "d", info = "d", requires = "c")
+	public String d = null;
+	
+	@Argument(name = "e", info = "e", isRequired = true, excludes = "b")
+	public String e = null;
+	
+	@Override
+	public String programInfo()
+	{
+		return "Requirement cycle excluded by a required argument.";
+	}
+}
@@ -0,0 +1,24 @@
+package test.contradictory;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(idPrefix = "--")
+public class Transitive implements IArgs
+{
+	@Argument(name = "a", info = "a", requires = "b")
+	public String a = null;
+	
+	@Argument(name = "b", info = "b", requires = "c")
+	public String b = null;
+	
+	@Argument(name = "c", info = "c", excludes = "a")
+	public String c = null;
+	
+	@Override
+	public String programInfo()
+	{
+		return "Transitively contradicted requirement.";
+	}
+}
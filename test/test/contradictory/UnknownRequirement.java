@@ -0,0 +1,21 @@
+package test.contradictory;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(idPrefix = "--")
+public class UnknownRequirement implements IArgs
+{
+	@Argument(name = "a", info = "a", requires = "b")
+	public String a = null;
+	
+	@Argument(name = "b", info = "b", requires = "missing")
+	public String b = null;
+	
+	@Override
+	public String programInfo()
+	{
+		return "Requirement of an unknown argument.";
+	}
+}
@@ -0,0 +1,98 @@
+package test.events;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import kryptonbutterfly.args.ArgsParser;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class FlightRecorderEvents implements Constants
+{
+	@Test
+	public void phases() throws IOException
+	{
+		final String[] args = { "--name", "kryptonbutterfly", "--count", "3" };
+		
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		
+		final var events = record(() -> assertNotNull(parser.parse(ProgramArgs::new, args), PARSE_UNSUCCESSFUL));
+		
+		final var parse = single(events, "kryptonbutterfly.args.Parse");
+		assertEquals(ProgramArgs.class.getName(), parse.getClass("argsClass").getName());
+		assertEquals(4, parse.getInt("tokens"));
+		assertEquals(2, parse.getInt("arguments"));
+		assertTrue(parse.getBoolean("success"));
+		
+		assertTrue(single(events, "kryptonbutterfly.args.SanityCheck").getBoolean("passed"));
+		
+		final var resolutions = of(events, "kryptonbutterfly.args.Resolution");
+		assertEquals(List.of("--name", "--count"), resolutions.stream().map(e -> e.getString("token")).toList());
+		
+		final var conversions = of(events, "kryptonbutterfly.args.Conversion");
+		assertEquals(
+			List.of("java.lang.String", "int"),
+			conversions.stream().map(e -> e.getString("targetType")).toList());
+		assertEquals(1, conversions.get(1).getInt("values"));
+		
+		assertNull(single(events, "kryptonbutterfly.args.Validation").getString("violation"));
+	}
+	
+	@Test
+	public void violation() throws IOException
+	{
+		final String[] args = { "--count", "3" };
+		
+		final var parser = new ArgsParser();
+		
+		final var events = record(() -> assertFalse(parser.tryParse(ProgramArgs::new, args).isSuccess()));
+		
+		assertEquals("MissingRequired", single(events, "kryptonbutterfly.args.Validation").getString("violation"));
+		assertFalse(single(events, "kryptonbutterfly.args.Parse").getBoolean("success"));
+	}
+	
+	private static List<RecordedEvent> record(Runnable parse) throws IOException
+	{
+		final var file = Files.createTempFile("args", ".jfr");
+		try (final var recording = new Recording())
+		{
+			for (final var name : List.of("Parse", "SanityCheck", "Resolution", "Conversion", "Validation", "Help"))
+				recording.enable("kryptonbutterfly.args." + name).withoutThreshold();
+			recording.start();
+			parse.run();
+			recording.stop();
+			recording.dump(file);
+			
+			return RecordingFile.readAllEvents(file)
+				.stream()
+				.filter(e -> e.getThread() != null && e.getThread().getJavaThreadId() == Thread.currentThread().getId())
+				.toList();
+		}
+		finally
+		{
+			Files.deleteIfExists(file);
+		}
+	}
+	
+	private static List<RecordedEvent> of(List<RecordedEvent> events, String name)
+	{
+		return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+	}
+	
+	private static RecordedEvent single(List<RecordedEvent> events, String name)
+	{
+		final var matching = of(events, name);
+		assertEquals(1, matching.size(), name);
+		return matching.get(0);
+	}
+}
@@ -0,0 +1,21 @@
+package test.events;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(idPrefix = "--")
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "name", info = "The name.", isRequired = true)
+	public String name = null;
+	
+	@Argument(name = "count", info = "The count.")
+	public int count = 0;
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests the flight recorder events.";
+	}
+}
@@ -0,0 +1,121 @@
+package test.flags;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.ArgsPool;
+import kryptonbutterfly.args.Diagnostic;
+import kryptonbutterfly.args.internal.SanityException;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class PackedFlags implements Constants
+{
+	@Test
+	public void separate()
+	{
+		final var result = parser().parse(ProgramArgs::new, new String[] { "-a", "-b", "-d", "-long", "-e" });
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals(3L, result.features);
+		assertArrayEquals(new long[] { 1, 4 }, result.toggles);
+		assertEquals(BitSet.valueOf(new long[] { 32 }), result.set);
+		assertFalse(result.verbose);
+	}
+	
+	@Test
+	public void clustered()
+	{
+		final var result = parser().parse(ProgramArgs::new, new String[] { "-abv", "-n", "3", "-ed" });
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals(3L, result.features);
+		assertArrayEquals(new long[] { 0, 4 }, result.toggles);
+		assertTrue(result.set.get(5));
+		assertTrue(result.verbose);
+		assertEquals(3, result.number);
+	}
+	
+	@Test
+	public void notClustered()
+	{
+		final var parser = parser();
+		
+		final var withValue = parser.tryParse(ProgramArgs::new, new String[] { "-an" });
+		assertInstanceOf(Diagnostic.UnknownArgument.class, withValue.diagnostics().get(0));
+		
+		final var unknown = parser.tryParse(ProgramArgs::new, new String[] { "-ax" });
+		assertInstanceOf(Diagnostic.UnknownArgument.class, unknown.diagnostics().get(0));
+	}
+	
+	@Test
+	public void excluded()
+	{
+		final var result = parser().tryParse(ProgramArgs::new, new String[] { "-cd" });
+		assertEquals(1L << 63, result.args().features);
+		assertInstanceOf(Diagnostic.Exclusion.class, result.diagnostics().get(0));
+	}
+	
+	@Test
+	public void defaultsUntouched()
+	{
+		final var	pool	= ArgsPool.of(ProgramArgs::new, 1);
+		final var	first	= parser().parse(pool, new String[] { "-e" });
+		assertTrue(first.set.get(5));
+		pool.release(first);
+		
+		final var second = parser().parse(pool, new String[0]);
+		assertSame(first, second);
+		assertTrue(second.set.isEmpty());
+	}
+	
+	@Test
+	public void invalid()
+	{
+		final var	parser	= parser();
+		final var	e		= assertThrows(
+			SanityException.class,
+			() -> parser.parse(ProgramArgs.Invalid::new, new String[0]));
+		assertTrue(e.getMessage().contains("The flags -b & -c share the bit 1 of the field features."));
+		assertTrue(e.getMessage().contains("the bit 3 of the flag -d set"));
+	}
+	
+	@Test
+	public void outOfRange()
+	{
+		final var parser = parser();
+		parser.sanityCheck = false;
+		
+		final var e = assertThrows(
+			SanityException.class,
+			() -> parser.tryParse(ProgramArgs.OutOfRange::new, new String[] { "-a" }));
+		assertTrue(e.getMessage().contains("The bit 64 of the flag -a is out of the range of the field features."));
+		assertTrue(e.getMessage().contains("The bit -1 of the flag -b is out of the range of the field features."));
+		assertTrue(e.getMessage().contains("The field wrong of the type int can't hold flags"));
+	}
+	
+	@Test
+	public void defaultsPerInstance()
+	{
+		final var parser = parser();
+		assertNotNull(parser.parse(ProgramArgs::new, new String[0]), PARSE_UNSUCCESSFUL);
+		
+		final var e = assertThrows(SanityException.class, () -> parser.parse(() -> {
+			final var args = new ProgramArgs();
+			args.features = 2;
+			return args;
+		}, new String[0]));
+		assertTrue(e.getMessage().contains("the bit 1 of the flag -b set"));
+		parser.checkSanity(ProgramArgs.class);
+	}
+	
+	private static ArgsParser parser()
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		return parser;
+	}
+}
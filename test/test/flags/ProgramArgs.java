@@ -0,0 +1,68 @@
+package test.flags;
+
+import java.util.BitSet;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.Flag;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(idPrefix = "-", clusteredFlags = true)
+public class ProgramArgs implements IArgs
+{
+	@Flag(name = "a", info = "The bit 0.", bit = 0)
+	@Flag(name = "b", info = "The bit 1.", bit = 1)
+	@Flag(name = "c", info = "The bit 63.", bit = 63, excludes = "d")
+	public long features = 0;
+	
+	@Flag(name = "d", info = "The bit 2 of the second word.", bit = 66)
+	@Flag(name = "long", info = "The bit 0 of the first word.", bit = 0)
+	public long[] toggles = null;
+	
+	@Flag(name = "e", info = "The bit 5 of a BitSet.", bit = 5)
+	public BitSet set = new BitSet();
+	
+	@Argument(name = "v", info = "A boolean argument.")
+	public boolean verbose = false;
+	
+	@Argument(name = "n", info = "An argument with a value.")
+	public int number = 0;
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests flags.";
+	}
+	
+	public static class Invalid implements IArgs
+	{
+		@Flag(name = "b", info = "Shares its bit.", bit = 1)
+		@Flag(name = "c", info = "Shares its bit.", bit = 1)
+		public long features = 0;
+		
+		@Flag(name = "d", info = "Set by default.", bit = 3)
+		public long[] defaults = { 8 };
+		
+		@Override
+		public String programInfo()
+		{
+			return "This program has invalid flags.";
+		}
+	}
+	
+	public static class OutOfRange implements IArgs
+	{
+		@Flag(name = "a", info = "Out of range.", bit = 64)
+		@Flag(name = "b", info = "Negative.", bit = -1)
+		public long features = 0;
+		
+		@Flag(name = "e", info = "Wrong type.", bit = 0)
+		public int wrong = 0;
+		
+		@Override
+		public String programInfo()
+		{
+			return "This program has flags that don't fit into their fields.";
+		}
+	}
+}
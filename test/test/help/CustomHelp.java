@@ -0,0 +1,25 @@
+package test.help;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(terminateAfterHelp = false)
+public class CustomHelp implements IArgs
+{
+	@Argument(name = "v", info = "Verbose output.")
+	public boolean verbose = false;
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests a custom help.";
+	}
+	
+	@Override
+	public void printHelp(ArgsParser parser)
+	{
+		parser.output.print("custom help\n");
+	}
+}
@@ -0,0 +1,76 @@
+package test.help;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.jupiter.api.Test;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.ImmutableArgsParser;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class HelpOutput implements Constants
+{
+	private static final String HELP = """
+		This program tests the help.
+		
+		 -h --help                 display this help.
+		
+		 -v                        Verbose output.
+		 -configuration-directory  The directory to read the configuration from.
+		
+		""";
+	
+	@Test
+	public void help()
+	{
+		final String[] args = { "-v", "-h" };
+		
+		final var	bytes	= new ByteArrayOutputStream();
+		final var	parser	= parser(bytes);
+		for (int i = 0; i < 2; i++)
+		{
+			final var result = parser.parse(ProgramArgs::new, args);
+			assertNotNull(result, PARSE_UNSUCCESSFUL);
+			assertEquals(HELP, bytes.toString(UTF_8));
+			bytes.reset();
+		}
+	}
+	
+	@Test
+	public void unknownArgument()
+	{
+		final String[] args = { "-x" };
+		
+		final var bytes = new ByteArrayOutputStream();
+		assertNull(parser(bytes).parse(ProgramArgs::new, args));
+		assertEquals("Unknown argument: -x\n\n" + HELP, bytes.toString(UTF_8));
+	}
+	
+	@Test
+	public void customHelp()
+	{
+		final String[] args = { "-v", "-h" };
+		
+		final var	bytes	= new ByteArrayOutputStream();
+		final var	parser	= ImmutableArgsParser.builder()
+			.terminateAction(TerminationException::terminate)
+			.output(new PrintStream(bytes, true, UTF_8))
+			.build();
+		
+		assertNotNull(parser.parse(CustomHelp::new, args), PARSE_UNSUCCESSFUL);
+		assertEquals("custom help\n", bytes.toString(UTF_8));
+	}
+	
+	private static ArgsParser parser(ByteArrayOutputStream bytes)
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.output			= new PrintStream(bytes, true, UTF_8);
+		return parser;
+	}
+}
@@ -0,0 +1,21 @@
+package test.help;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(terminateAfterHelp = false)
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "v", info = "Verbose output.")
+	public boolean verbose = false;
+	
+	@Argument(name = "configuration-directory", info = "The directory to read the configuration from.")
+	public String configurationDirectory = null;
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests the help.";
+	}
+}
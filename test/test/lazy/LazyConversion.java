@@ -0,0 +1,128 @@
+package test.lazy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.Diagnostic;
+import kryptonbutterfly.args.Lazy;
+import test.lazy.ProgramArgs.Keystore;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class LazyConversion implements Constants
+{
+	@Test
+	public void deferred()
+	{
+		final String[] args = { "--keystore", "store.p12", "--pattern", "a+b", "--ids", "1;2;3", "--port", "8080" };
+		
+		final var	loads	= new AtomicInteger();
+		final var	parser	= parser(loads);
+		
+		final var result = parser.parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals(0, loads.get());
+		assertFalse(result.pattern.isComputed());
+		
+		assertEquals(new Keystore("store.p12"), result.keystore.get());
+		assertEquals(new Keystore("store.p12"), result.keystore.get());
+		assertEquals(1, loads.get());
+		
+		assertTrue(result.pattern.get().matcher("aab").matches());
+		assertArrayEquals(new int[] { 1, 2, 3 }, result.ids.get());
+		assertEquals(8080, result.port.get());
+	}
+	
+	@Test
+	public void defaultValue()
+	{
+		final String[] args = {};
+		
+		final var result = parser(new AtomicInteger()).parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertTrue(result.pattern.isComputed());
+		assertEquals(".*", result.pattern.get().pattern());
+	}
+	
+	@Test
+	public void conversionErrorOnAccess()
+	{
+		final String[] args = { "--port", "eighty" };
+		
+		final var result = parser(new AtomicInteger()).tryParse(ProgramArgs::new, args);
+		assertTrue(result.isSuccess());
+		assertThrows(NumberFormatException.class, () -> result.args().port.get());
+		assertThrows(NumberFormatException.class, () -> result.args().port.get());
+	}
+	
+	@Test
+	public void missingValue()
+	{
+		final var parser = parser(new AtomicInteger());
+		
+		final var missing = parser.tryParse(ProgramArgs::new, new String[] { "--pattern" });
+		assertFalse(missing.isSuccess());
+		assertInstanceOf(Diagnostic.ConversionError.class, missing.diagnostics().get(0));
+		
+		final var empty = parser.tryParse(ProgramArgs::new, new String[] { "--ids" });
+		assertTrue(empty.isSuccess());
+		assertArrayEquals(new int[0], empty.args().ids.get());
+	}
+	
+	@Test
+	public void computedOnce() throws InterruptedException
+	{
+		final var	calls	= new AtomicInteger();
+		final var	start	= new CountDownLatch(1);
+		final var	lazy	= Lazy.of(() -> {
+								calls.incrementAndGet();
+								return new Object();
+							});
+		
+		final var	executor	= Executors.newFixedThreadPool(8);
+		final var	values		= new Object[8];
+		for (int i = 0; i < values.length; i++)
+		{
+			final var index = i;
+			executor.execute(() -> {
+				try
+				{
+					start.await();
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+				}
+				values[index] = lazy.get();
+			});
+		}
+		start.countDown();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		
+		assertEquals(1, calls.get());
+		for (final var value : values)
+			assertSame(lazy.get(), value);
+	}
+	
+	private static ArgsParser parser(AtomicInteger loads)
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		parser.addParser(Pattern.class, (d, v) -> Pattern.compile(v.next()));
+		parser.addParser(Keystore.class, (d, v) -> {
+			loads.incrementAndGet();
+			return new Keystore(v.next());
+		});
+		return parser;
+	}
+}
@@ -0,0 +1,39 @@
+package test.lazy;
+
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+import kryptonbutterfly.args.Lazy;
+
+@ArgsProperties(idPrefix = "--")
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "pattern", info = "A regex, only compiled when used.")
+	public Lazy<Pattern> pattern = Lazy.value(Pattern.compile(".*"));
+	
+	@Argument(name = "keystore", info = "An expensive value.")
+	public Supplier<Keystore> keystore = null;
+	
+	@Argument(name = "ids", info = "Lazily parsed ids.")
+	public Lazy<int[]> ids = null;
+	
+	public Lazy<Integer> port = null;
+	
+	@Argument(name = "port", info = "A lazily parsed port.")
+	public void port(Lazy<Integer> port)
+	{
+		this.port = port;
+	}
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests lazily converted arguments.";
+	}
+	
+	public static record Keystore(String path)
+	{}
+}
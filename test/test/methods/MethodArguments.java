@@ -0,0 +1,85 @@
+package test.methods;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.Injection;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class MethodArguments implements Constants
+{
+	@Test
+	public void methodArgument()
+	{
+		final String[] args = { "-v", "-c", "localhost", "8080" };
+		
+		final var result = parser().parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertTrue(result.verbose);
+		assertEquals("localhost", result.host);
+		assertEquals(8080, result.port);
+	}
+	
+	@Test
+	public void reflectionInjection()
+	{
+		final String[] args = { "-v", "-c", "localhost", "8080" };
+		
+		final var parser = parser();
+		parser.injection = Injection.REFLECTION;
+		
+		final var result = parser.parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertTrue(result.verbose);
+		assertEquals("localhost", result.host);
+		assertEquals(8080, result.port);
+	}
+	
+	@Test
+	public void conversionError()
+	{
+		final String[] args = { "-c", "localhost", "port" };
+		
+		for (final var injection : Injection.values())
+		{
+			final var parser = parser();
+			parser.injection = injection;
+			assertThrows(NumberFormatException.class, () -> parser.parse(ProgramArgs::new, args));
+		}
+	}
+	
+	@Test
+	public void reusedParser()
+	{
+		final var parser = parser();
+		for (int i = 0; i < 3; i++)
+		{
+			final String[]	args	= { "-c", "host" + i, Integer.toString(i) };
+			final var		result	= parser.parse(ProgramArgs::new, args);
+			assertNotNull(result, PARSE_UNSUCCESSFUL);
+			assertFalse(result.verbose);
+			assertEquals("host" + i, result.host);
+			assertEquals(i, result.port);
+		}
+	}
+	
+	@Test
+	public void missingRequired()
+	{
+		final String[] args = { "-v" };
+		
+		final var exception = assertThrows(TerminationException.class, () -> parser().parse(ProgramArgs::new, args));
+		assertEquals(0, exception.status, EXIT_CODE);
+	}
+	
+	private static ArgsParser parser()
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		return parser;
+	}
+}
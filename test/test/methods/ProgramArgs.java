@@ -0,0 +1,28 @@
+package test.methods;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "v", info = "Verbose output.")
+	public boolean verbose = false;
+	
+	public String	host	= null;
+	public int		port	= 0;
+	
+	@Argument(name = "c", info = "The host and port to connect to.", isRequired = true)
+	public void connect(String host, int port)
+	{
+		this.host	= host;
+		this.port	= port;
+	}
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests method bound arguments.";
+	}
+}
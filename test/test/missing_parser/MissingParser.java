@@ -2,6 +2,8 @@ package test.missing_parser;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
 
 import kryptonbutterfly.args.ArgsParser;
@@ -22,4 +24,32 @@ public class MissingParser implements Constants
 		
 		assertThrows(MissingParserException.class, () -> parser.parse(ProgramArgs::new, args));
 	}
+	
+	@Test
+	public void registeredAfterwards()
+	{
+		final String[] args = { "-o", "TestValue" };
+		
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		
+		assertThrows(MissingParserException.class, () -> parser.parse(ProgramArgs::new, args));
+		assertThrows(MissingParserException.class, () -> parser.parse(ProgramArgs::new, args));
+		
+		parser.addParser(Object.class, (d, v) -> v.next());
+		final var result = parser.parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals("TestValue", result.object);
+	}
+	
+	@Test
+	public void declared()
+	{
+		final var parser = new ArgsParser();
+		assertThrows(MissingParserException.class, () -> parser.checkSanity(ProgramArgs.class));
+		assertThrows(MissingParserException.class, () -> parser.checkSanity(ProgramArgs.class, Set.of("java.lang.String")));
+		parser.checkSanity(ProgramArgs.class, Set.of("java.lang.Object"));
+		assertThrows(MissingParserException.class, () -> parser.checkSanity(ProgramArgs.class));
+	}
 }
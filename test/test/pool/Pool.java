@@ -0,0 +1,88 @@
+package test.pool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.ArgsPool;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class Pool implements Constants
+{
+	@Test
+	public void reused()
+	{
+		final var	parser	= parser();
+		final var	pool	= ArgsPool.of(ProgramArgs::new, 1);
+		
+		final var first = parser.parse(
+			pool,
+			new String[] { "--user", "a", "--retries", "7", "--verbose", "--tags", "x;y" });
+		assertNotNull(first, PARSE_UNSUCCESSFUL);
+		assertEquals("a", first.user);
+		assertEquals(7, first.retries);
+		assertTrue(first.verbose);
+		assertArrayEquals(new String[] { "x", "y" }, first.tags());
+		pool.release(first);
+		
+		final var second = parser.parse(pool, new String[] { "--user", "b" });
+		assertSame(first, second);
+		assertEquals("b", second.user);
+		assertEquals(3, second.retries);
+		assertFalse(second.verbose);
+		assertArrayEquals(new String[] { "default" }, second.tags());
+	}
+	
+	@Test
+	public void bounded()
+	{
+		final var	pool	= ArgsPool.of(ProgramArgs::new, 1);
+		final var	a		= pool.get();
+		final var	b		= pool.get();
+		assertNotSame(a, b);
+		
+		pool.release(a);
+		pool.release(b);
+		assertSame(a, pool.get());
+		assertNotSame(b, pool.get());
+	}
+	
+	@Test
+	public void failedTryParse()
+	{
+		final var	parser	= parser();
+		final var	pool	= ArgsPool.of(ProgramArgs::new, 1);
+		
+		final var failed = parser.tryParse(pool, new String[] { "--user", "a", "--unknown" });
+		assertFalse(failed.isSuccess());
+		pool.release(failed.args());
+		
+		final var result = parser.tryParse(pool, new String[0]);
+		assertTrue(result.isSuccess());
+		assertSame(failed.args(), result.args());
+		assertEquals("guest", result.args().user);
+	}
+	
+	@Test
+	public void callerOwned()
+	{
+		final var	parser	= parser();
+		final var	pool	= ArgsPool.of(ProgramArgs::new, 0);
+		final var	target	= new ProgramArgs();
+		target.retries = 9;
+		
+		assertSame(target, parser.parse(() -> pool.reset(target), new String[] { "--user", "c" }));
+		assertEquals("c", target.user);
+		assertEquals(3, target.retries);
+	}
+	
+	private static ArgsParser parser()
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		return parser;
+	}
+}
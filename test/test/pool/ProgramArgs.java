@@ -0,0 +1,32 @@
+package test.pool;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(idPrefix = "--")
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "user", info = "The user.")
+	public String user = "guest";
+	
+	@Argument(name = "retries", info = "The number of retries.")
+	public int retries = 3;
+	
+	@Argument(name = "verbose", info = "A flag.")
+	public boolean verbose = false;
+	
+	@Argument(name = "tags", info = "An array.")
+	private String[] tags = { "default" };
+	
+	public String[] tags()
+	{
+		return tags;
+	}
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests the reuse of pooled args.";
+	}
+}
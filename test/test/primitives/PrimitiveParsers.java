@@ -0,0 +1,98 @@
+package test.primitives;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.ImmutableArgsParser;
+import kryptonbutterfly.args.Injection;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class PrimitiveParsers implements Constants
+{
+	private static final String[] ARGS = {
+		"--int",
+		"-7",
+		"--long",
+		"12345678901",
+		"--float",
+		"1.5",
+		"--double",
+		"2.25",
+		"--sum",
+		"1",
+		"2" };
+	
+	@ParameterizedTest
+	@EnumSource(Injection.class)
+	public void defaults(Injection injection)
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		parser.injection		= injection;
+		
+		final var result = parser.parse(ProgramArgs::new, ARGS);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals(-7, result.i);
+		assertEquals(12345678901L, result.l);
+		assertEquals(1.5f, result.f);
+		assertEquals(2.25, result.d);
+		assertEquals(3, result.sum);
+	}
+	
+	@ParameterizedTest
+	@EnumSource(Injection.class)
+	public void replaced(Injection injection)
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.injection		= injection;
+		parser.addIntParser((d, v) -> Integer.parseInt(v.next(), 16));
+		parser.addLongParser((d, v) -> Long.parseLong(v.next(), 16));
+		parser.addParser(Integer.class, (d, v) -> Integer.parseInt(v.next(), 16));
+		
+		final var result = parser.parse(
+			ProgramArgs::new,
+			new String[] { "--int", "ff", "--boxed", "10", "--sum", "a", "b" });
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals(255, result.i);
+		assertEquals(16, result.boxed);
+		assertEquals(21, result.sum);
+	}
+	
+	@ParameterizedTest
+	@EnumSource(Injection.class)
+	public void boxedMayBeNull(Injection injection)
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.injection		= injection;
+		parser.addParser(Integer.class, (d, v) -> {
+			v.next();
+			return null;
+		});
+		
+		final var result = parser.parse(ProgramArgs::new, new String[] { "--boxed", "10" });
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertNull(result.boxed);
+	}
+	
+	@ParameterizedTest
+	@EnumSource(Injection.class)
+	public void immutable(Injection injection)
+	{
+		final var parser = ImmutableArgsParser.builder()
+			.terminateAction(TerminationException::terminate)
+			.injection(injection)
+			.addDoubleParser((d, v) -> Double.parseDouble(v.next()) * 2)
+			.build();
+		
+		final var result = parser.parse(ProgramArgs::new, new String[] { "--double", "1.5" });
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals(3.0, result.d);
+	}
+}
@@ -0,0 +1,38 @@
+package test.primitives;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(idPrefix = "--")
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "int", info = "An int.")
+	public int i = 0;
+	
+	@Argument(name = "long", info = "A long.")
+	public long l = 0;
+	
+	@Argument(name = "float", info = "A float.")
+	public float f = 0;
+	
+	@Argument(name = "double", info = "A double.")
+	public double d = 0;
+	
+	@Argument(name = "boxed", info = "An Integer, parsed by the int parser and boxed.")
+	public Integer boxed = null;
+	
+	public long sum = 0;
+	
+	@Argument(name = "sum", info = "Two longs.")
+	private void sum(long a, long b)
+	{
+		sum = a + b;
+	}
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests the parsers of primitive types.";
+	}
+}
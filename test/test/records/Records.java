@@ -0,0 +1,133 @@
+package test.records;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.jupiter.api.Test;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.Diagnostic;
+import kryptonbutterfly.args.ImmutableArgsParser;
+import kryptonbutterfly.args.internal.SanityException;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class Records implements Constants
+{
+	@Test
+	public void constructed()
+	{
+		final var result = parser().parse(
+			ServerArgs.class,
+			new String[] { "--host", "localhost", "--port", "443", "--tls", "--timeout", "30" });
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals("localhost", result.host());
+		assertEquals(443, result.port());
+		assertArrayEquals(new int[] { 1, 2 }, result.ports());
+		assertTrue(result.tls());
+		assertEquals(30L, result.timeout());
+		assertEquals(0, result.unbound());
+	}
+	
+	@Test
+	public void defaults()
+	{
+		final var	parser	= parser();
+		final var	first	= parser.parse(ServerArgs.class, new String[] { "--host", "a" });
+		final var	second	= parser.parse(ServerArgs.class, new String[] { "--host", "b" });
+		assertNotNull(first, PARSE_UNSUCCESSFUL);
+		assertEquals(8080, first.port());
+		assertArrayEquals(new int[] { 1, 2 }, first.ports());
+		assertNotSame(first.ports(), second.ports());
+		assertFalse(first.tls());
+		assertNull(first.timeout());
+	}
+	
+	@Test
+	public void immutable()
+	{
+		final var parser = ImmutableArgsParser.builder()
+			.terminateAction(TerminationException::terminate)
+			.sanityCheck(true)
+			.build();
+		
+		final var result = parser.tryParse(ServerArgs.class, new String[] { "--host", "a", "--ports", "7" });
+		assertTrue(result.isSuccess());
+		assertArrayEquals(new int[] { 7 }, result.args().ports());
+	}
+	
+	@Test
+	public void violation()
+	{
+		final var result = parser().tryParse(ServerArgs.class, new String[] { "--port", "1" });
+		assertInstanceOf(Diagnostic.MissingRequired.class, result.diagnostics().get(0));
+		assertNull(result.args());
+	}
+	
+	@Test
+	public void constructorFails()
+	{
+		final var result = parser().tryParse(ServerArgs.class, new String[] { "--host", "a", "--port", "-1" });
+		assertFalse(result.isSuccess());
+		final var error = assertInstanceOf(Diagnostic.ConstructionError.class, result.diagnostics().get(0));
+		assertEquals(ServerArgs.class, error.type());
+		assertEquals("negative port", error.cause().getMessage());
+		assertNull(result.args());
+	}
+	
+	@Test
+	public void help()
+	{
+		final var	output	= new ByteArrayOutputStream();
+		final var	parser	= parser();
+		parser.output = new PrintStream(output);
+		
+		final var e = assertThrows(
+			TerminationException.class,
+			() -> parser.parse(ServerArgs.class, new String[] { "--h" }));
+		assertEquals(0, e.status, EXIT_CODE);
+		assertTrue(output.toString().startsWith("This program tests records."));
+		assertTrue(output.toString().contains("--port"));
+	}
+	
+	@Test
+	public void validated()
+	{
+		final var parser = parser();
+		parser.checkSanity(ServerArgs.Validated.class);
+		
+		final var result = parser.parse(ServerArgs.Validated.class, new String[] { "--host", "a" });
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals("a", result.host());
+		assertEquals(8080, result.port());
+		
+		assertTrue(parser.tryParse(ServerArgs.Validated.class, new String[] { "--host", "b" }).isSuccess());
+		final var missing = parser.tryParse(ServerArgs.Validated.class, new String[0]);
+		assertInstanceOf(Diagnostic.ConstructionError.class, missing.diagnostics().get(0));
+		
+		final var output = new ByteArrayOutputStream();
+		parser.output = new PrintStream(output);
+		final var e = assertThrows(
+			TerminationException.class,
+			() -> parser.parse(ServerArgs.Validated.class, new String[] { "--unknown" }));
+		assertEquals(0, e.status, EXIT_CODE);
+		assertTrue(output.toString().contains("This program validates its components."));
+	}
+	
+	@Test
+	public void contradictory()
+	{
+		final var parser = parser();
+		assertThrows(SanityException.class, () -> parser.parse(ServerArgs.Contradictory.class, new String[0]));
+	}
+	
+	private static ArgsParser parser()
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		return parser;
+	}
+}
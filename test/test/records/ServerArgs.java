@@ -0,0 +1,47 @@
+package test.records;
+
+import java.util.Objects;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.Default;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(idPrefix = "--", programInfo = "This program tests records.")
+public record ServerArgs(
+	@Argument(name = "host", info = "The host.", isRequired = true) String host,
+	@Argument(name = "port", info = "The port.") @Default("8080") int port,
+	@Argument(name = "ports", info = "Further ports.") @Default("1;2") int[] ports,
+	@Argument(name = "tls", info = "Whether to use TLS.", requires = "port") boolean tls,
+	@Argument(name = "timeout", info = "The timeout.") Long timeout,
+	int unbound) implements IArgs
+{
+	public ServerArgs
+	{
+		if (port < 0)
+			throw new IllegalArgumentException("negative port");
+	}
+	
+	@ArgsProperties(idPrefix = "--", programInfo = "This program validates its components.")
+	public static record Validated(
+		@Argument(name = "host", info = "The host.") String host,
+		@Argument(name = "port", info = "The port.") @Default("8080") int port) implements IArgs
+	{
+		public Validated
+		{
+			Objects.requireNonNull(host);
+		}
+	}
+	
+	@ArgsProperties(idPrefix = "--")
+	public static record Contradictory(
+		@Argument(name = "a", info = "Excludes b.", excludes = "b") boolean a,
+		@Argument(name = "b", info = "Requires a.", requires = "a") boolean b) implements IArgs
+	{
+		@Override
+		public String programInfo()
+		{
+			return "This program has contradictory components.";
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package test.resolution;
+
+import java.math.BigDecimal;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(idPrefix = "--")
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "name", info = "A CharSequence, parsed as String.")
+	public CharSequence name = null;
+	
+	@Argument(name = "level", info = "An enum, parsed by its constant names.")
+	public Level level = null;
+	
+	@Argument(name = "levels", info = "An enum array.")
+	public Level[] levels = null;
+	
+	@Argument(name = "ports", info = "An array of a registered component type.")
+	public Integer[] ports = null;
+	
+	@Argument(name = "amount", info = "Parsed with the parser of its superclass Number.")
+	public BigDecimal amount = null;
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests the resolution of parsers.";
+	}
+	
+	public static enum Level
+	{
+		LOW,
+		MEDIUM,
+		HIGH;
+	}
+}
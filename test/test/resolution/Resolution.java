@@ -0,0 +1,102 @@
+package test.resolution;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.Diagnostic;
+import kryptonbutterfly.args.ImmutableArgsParser;
+import kryptonbutterfly.args.internal.MissingParserException;
+import test.misc.Constants;
+import test.misc.TerminationException;
+import test.resolution.ProgramArgs.Level;
+
+public class Resolution implements Constants
+{
+	private static final String[] ARGS = {
+		"--name",
+		"kryptonbutterfly",
+		"--level",
+		"HIGH",
+		"--levels",
+		"LOW;MEDIUM",
+		"--ports",
+		"80;443",
+		"--amount",
+		"12.50" };
+	
+	@Test
+	public void resolved()
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		parser.addParser(Number.class, (d, v) -> new BigDecimal(v.next()));
+		
+		assertResolved(parser.parse(ProgramArgs::new, ARGS));
+	}
+	
+	@Test
+	public void immutable()
+	{
+		final var parser = ImmutableArgsParser.builder()
+			.terminateAction(TerminationException::terminate)
+			.sanityCheck(true)
+			.addParser(Number.class, (d, v) -> new BigDecimal(v.next()))
+			.build();
+		
+		assertResolved(parser.parse(ProgramArgs::new, ARGS));
+	}
+	
+	@Test
+	public void registeredAfterwards()
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction = TerminationException::terminate;
+		assertEquals("a", parser.parse(ProgramArgs::new, new String[] { "--name", "a" }).name);
+		
+		parser.addParser(Number.class, (d, v) -> new BigDecimal(v.next()));
+		assertEquals(BigDecimal.ONE, parser.parse(ProgramArgs::new, new String[] { "--amount", "1" }).amount);
+	}
+	
+	@Test
+	public void addedParsersStayLocal()
+	{
+		final var custom = new ArgsParser();
+		custom.terminateAction = TerminationException::terminate;
+		custom.addParser(Number.class, (d, v) -> new BigDecimal(v.next()));
+		assertEquals(BigDecimal.ONE, custom.parse(ProgramArgs::new, new String[] { "--amount", "1" }).amount);
+		
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		assertThrows(MissingParserException.class, () -> parser.parse(ProgramArgs::new, new String[] { "--name", "a" }));
+	}
+	
+	@Test
+	public void supertypeParserOfOtherSubtype()
+	{
+		final var parser = new ArgsParser();
+		parser.addParser(Number.class, (d, v) -> Integer.valueOf(v.next()));
+		
+		final var result = parser.tryParse(ProgramArgs::new, new String[] { "--amount", "1" });
+		assertFalse(result.isSuccess());
+		final var error = assertInstanceOf(Diagnostic.ConversionError.class, result.diagnostics().get(0));
+		assertEquals("--amount", error.token());
+		assertInstanceOf(IllegalArgumentException.class, error.cause());
+		assertNull(result.args().amount);
+	}
+	
+	private static void assertResolved(ProgramArgs result)
+	{
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals("kryptonbutterfly", result.name);
+		assertEquals(Level.HIGH, result.level);
+		assertArrayEquals(new Level[] { Level.LOW, Level.MEDIUM }, result.levels);
+		assertArrayEquals(new Integer[] { 80, 443 }, result.ports);
+		assertEquals(new BigDecimal("12.50"), result.amount);
+	}
+}
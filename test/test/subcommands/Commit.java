@@ -0,0 +1,26 @@
+package test.subcommands;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(idPrefix = "--")
+public class Commit implements IArgs
+{
+	static
+	{
+		Subcommand.INITIALIZED.add(Commit.class);
+	}
+	
+	@Argument(name = "message", info = "The commit message.", isRequired = true)
+	public String message = null;
+	
+	@Argument(name = "amend", info = "Replace the last commit.")
+	public boolean amend = false;
+	
+	@Override
+	public String programInfo()
+	{
+		return "Records changes.";
+	}
+}
@@ -0,0 +1,22 @@
+package test.subcommands;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.IArgs;
+
+/**
+ * Never selected, so it must never be initialized.
+ */
+@ArgsProperties(idPrefix = "--")
+public class Gc implements IArgs
+{
+	static
+	{
+		Subcommand.INITIALIZED.add(Gc.class);
+	}
+	
+	@Override
+	public String programInfo()
+	{
+		return "Cleans up.";
+	}
+}
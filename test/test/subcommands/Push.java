@@ -0,0 +1,23 @@
+package test.subcommands;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(idPrefix = "--")
+public class Push implements IArgs
+{
+	static
+	{
+		Subcommand.INITIALIZED.add(Push.class);
+	}
+	
+	@Argument(name = "force", info = "Overwrite the remote.")
+	public boolean force = false;
+	
+	@Override
+	public String programInfo()
+	{
+		return "Updates the remote.";
+	}
+}
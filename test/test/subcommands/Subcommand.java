@@ -0,0 +1,103 @@
+package test.subcommands;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.Diagnostic.MissingCommand;
+import kryptonbutterfly.args.Diagnostic.UnknownCommand;
+import kryptonbutterfly.args.Subcommands;
+import test.misc.Constants;
+import test.misc.TerminationException;
+
+public class Subcommand implements Constants
+{
+	static final Set<Class<?>> INITIALIZED = ConcurrentHashMap.newKeySet();
+	
+	private static final Subcommands COMMANDS = Subcommands.builder("A version control system.")
+		.command("commit", "Record changes.", () -> new Commit())
+		.command("push", "Update the remote.", () -> new Push())
+		.command("gc", "Clean up.", () -> new Gc())
+		.build();
+	
+	@Test
+	public void selected()
+	{
+		final String[] args = { "commit", "--message", "Initial commit", "--amend" };
+		
+		final var result = parser().parse(COMMANDS, args);
+		final var commit = assertInstanceOf(Commit.class, result, PARSE_UNSUCCESSFUL);
+		assertEquals("Initial commit", commit.message);
+		assertTrue(commit.amend);
+		assertTrue(INITIALIZED.contains(Commit.class));
+		assertFalse(INITIALIZED.contains(Gc.class));
+	}
+	
+	@Test
+	public void commandHelp()
+	{
+		final String[] args = { "push", "---help" };
+		
+		final var result = parser().tryParse(COMMANDS, args);
+		assertInstanceOf(Push.class, result.args());
+		assertTrue(result.helpRequested());
+	}
+	
+	@Test
+	public void overview()
+	{
+		final var	bytes	= new ByteArrayOutputStream();
+		final var	parser	= parser();
+		parser.output = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+		
+		final var exception = assertThrows(
+			TerminationException.class,
+			() -> parser.parse(COMMANDS, new String[] { "--help" }));
+		assertEquals(0, exception.status, EXIT_CODE);
+		assertEquals(
+			"""
+				A version control system.
+				
+				 -h --help  display this help and exit.
+				
+				 commit     Record changes.
+				 push       Update the remote.
+				 gc         Clean up.
+				
+				""",
+			bytes.toString(StandardCharsets.UTF_8));
+	}
+	
+	@Test
+	public void unknown()
+	{
+		final var parser = parser();
+		parser.output = new PrintStream(new ByteArrayOutputStream());
+		
+		final var exception = assertThrows(
+			TerminationException.class,
+			() -> parser.parse(COMMANDS, new String[] { "pull" }));
+		assertEquals(-1, exception.status, EXIT_CODE);
+		
+		assertEquals(
+			List.of(new UnknownCommand("pull", List.of("commit", "push", "gc"))),
+			parser.tryParse(COMMANDS, new String[] { "pull" }).diagnostics());
+		assertEquals(List.of(new MissingCommand()), parser.tryParse(COMMANDS, new String[0]).diagnostics());
+	}
+	
+	private static ArgsParser parser()
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		parser.sanityCheck		= true;
+		return parser;
+	}
+}
@@ -0,0 +1,27 @@
+package test.window;
+
+import kryptonbutterfly.args.ArgsProperties;
+import kryptonbutterfly.args.Argument;
+import kryptonbutterfly.args.IArgs;
+
+@ArgsProperties(idPrefix = "--")
+public class ProgramArgs implements IArgs
+{
+	@Argument(name = "port", info = "The port to listen on.")
+	public Port port = null;
+	
+	@Argument(name = "ports", info = "Further ports to listen on.")
+	public Port[] ports = null;
+	
+	@Argument(name = "count", info = "The number of connections.")
+	public int count = 0;
+	
+	@Override
+	public String programInfo()
+	{
+		return "This program tests window parsers.";
+	}
+	
+	public static record Port(int number)
+	{}
+}
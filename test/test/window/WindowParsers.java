@@ -0,0 +1,73 @@
+package test.window;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import kryptonbutterfly.args.ArgsParser;
+import kryptonbutterfly.args.WindowParser;
+import test.misc.Constants;
+import test.misc.TerminationException;
+import test.window.ProgramArgs.Port;
+
+public class WindowParsers implements Constants
+{
+	@Test
+	public void windowParser()
+	{
+		final String[] args = { "--port", "8080", "--count", "12" };
+		
+		final var parser = parser();
+		parser.addParser(Port.class, (d, s, o, l) -> new Port(Integer.parseInt(s, o, o + l, 10)));
+		
+		final var result = parser.parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertEquals(new Port(8080), result.port);
+		assertEquals(12, result.count);
+	}
+	
+	@Test
+	public void arrayElements()
+	{
+		final String[] args = { "--ports", "80;443;8080" };
+		
+		final var	offsets	= new ArrayList<Integer>();
+		final var	parser	= parser();
+		parser.addParser(Port.class, (d, s, o, l) -> {
+			assertEquals(args[1], s.toString());
+			offsets.add(o);
+			return new Port(Integer.parseInt(s, o, o + l, 10));
+		});
+		
+		final var result = parser.parse(ProgramArgs::new, args);
+		assertNotNull(result, PARSE_UNSUCCESSFUL);
+		assertArrayEquals(new Port[] { new Port(80), new Port(443), new Port(8080) }, result.ports);
+		assertEquals(List.of(0, 3, 7), offsets);
+	}
+	
+	@Test
+	public void window()
+	{
+		final WindowParser<Port> parser = (d, s, o, l) -> new Port(Integer.parseInt(s, o, o + l, 10));
+		assertEquals(new Port(443), parser.parse(";", "--port=443", 7, 3));
+	}
+	
+	@Test
+	public void unknownArgument()
+	{
+		final String[] args = { "--counter", "12" };
+		
+		final var exception = assertThrows(TerminationException.class, () -> parser().parse(ProgramArgs::new, args));
+		assertEquals(0, exception.status, EXIT_CODE);
+	}
+	
+	private static ArgsParser parser()
+	{
+		final var parser = new ArgsParser();
+		parser.terminateAction	= TerminationException::terminate;
+		return parser;
+	}
+}